@@ -0,0 +1,76 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simulation.CollisionMask;
+import simulation.DinoBody;
+import simulation.Enemies;
+import simulation.Simulation;
+import simulation.Sprite;
+import simulation.SweepAndPrune;
+
+// enemy collision check (was EnemyManager.isCollision) and dino hitbox, both run every tick
+// run with -prof gc, neither should allocate
+// isCollision only sorts once, sortBroadPhase is what it costs again after every move
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmark {
+
+    @Param({ "0", "10", "100", "1000" })
+    public int enemies;
+
+    private DinoBody dino;
+    private Enemies enemyList;
+    private SweepAndPrune broadPhase = new SweepAndPrune();
+    private Sprite dinoSprite;
+    private int dinoY;
+
+    @Setup
+    public void setUp() {
+        Simulation simulation = Scenes.inProgress(1, enemies);
+        dino = simulation.getDino();
+        enemyList = simulation.getEnemies();
+        dinoSprite = dino.getSprite();
+        dinoY = (int)dino.getY();
+    }
+
+    @Benchmark
+    public boolean isCollision() {
+        return enemyList.isCollision(dinoSprite, (int)DinoBody.X, dinoY, (int)DinoBody.X, dinoY);
+    }
+
+    // jumping dino with its hitbox over a tall cactus but no pixel touching it, every row of the overlap is tested
+    @Benchmark
+    public boolean pixelOverlap() {
+        return CollisionMask.overlaps(Sprite.DINO_JUMP.getMask(), (int)DinoBody.X, 104,
+                Sprite.CACTUS_5.getMask(), (int)DinoBody.X + 60, Simulation.GROUND_Y - Sprite.CACTUS_5.getHeight());
+    }
+
+    @Benchmark
+    public SweepAndPrune sortBroadPhase() {
+        broadPhase.update(enemyList.getEntities());
+        return broadPhase;
+    }
+
+    @Benchmark
+    public int dinoHitbox() {
+        return dino.getHitboxX() + dino.getHitboxY() + dino.getHitboxWidth() + dino.getHitboxHeight();
+    }
+
+}
@@ -0,0 +1,113 @@
+package benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game_object.Rain;
+import game_object.Score;
+import misc.GameState;
+import simulation.GameEvent;
+import simulation.Input;
+import user_interface.FrameSnapshot;
+import user_interface.GameScreen;
+import user_interface.GameWindow;
+import user_interface.LaunchOptions;
+
+// drawing into an offscreen image, no window needed
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    @Param({ "0", "10", "100" })
+    public int enemies;
+
+    @Param({ "100", "1000", "10000" })
+    public int rainDrops;
+
+    private GameScreen gameScreen;
+    private Score score;
+    private Rain rain;
+    private FrameSnapshot frameSnapshot;
+    private BufferedImage frame;
+    private Graphics2D g;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameScreen = new GameScreen(LaunchOptions.parse(new String[] { "--seed", "1", "--rain-drops", String.valueOf(rainDrops) }));
+        gameScreen.awaitAssets();
+        gameScreen.tick(Input.UP_RELEASED);
+        while(gameScreen.getGameState() != GameState.GAME_STATE_IN_PROGRESS)
+            gameScreen.tick(Scenes.NO_INPUT);
+        Scenes.addEnemies(gameScreen.getSimulation().getEnemies(), enemies);
+        // the screen's own rain, so paintComponent draws rainDrops drops, and one more tick to put both into the
+        // snapshot it paints, enemies start far enough right that nothing collides in one tick
+        gameScreen.onEvent(GameEvent.RAIN_START);
+        gameScreen.tick(Scenes.NO_INPUT);
+        score = new Score(gameScreen);
+        rain = new Rain(gameScreen, rainDrops);
+        rain.setRaining(true);
+        frameSnapshot = new FrameSnapshot();
+        frameSnapshot.capture(gameScreen.getSimulation(), false);
+        score.capture(frameSnapshot);
+        rain.capture(frameSnapshot);
+        frame = new BufferedImage(GameWindow.SCREEN_WIDTH, GameWindow.SCREEN_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g = frame.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintComponent() {
+        gameScreen.paintComponent(g);
+        return frame;
+    }
+
+    @Benchmark
+    public BufferedImage scoreDraw() {
+        score.draw(g, frameSnapshot);
+        return frame;
+    }
+
+    @Benchmark
+    public Rain rainUpdatePosition() {
+        rain.updatePosition();
+        return rain;
+    }
+
+    // copying every drop into the snapshot, happens once per tick
+    @Benchmark
+    public FrameSnapshot rainCapture() {
+        rain.capture(frameSnapshot);
+        return frameSnapshot;
+    }
+
+    @Benchmark
+    public BufferedImage rainDraw() {
+        rain.draw(g, frameSnapshot, 0.5);
+        rain.drawVignette(g, frameSnapshot);
+        return frame;
+    }
+
+}
@@ -0,0 +1,45 @@
+package benchmark;
+
+import misc.GameState;
+import simulation.Enemies;
+import simulation.Input;
+import simulation.Simulation;
+import simulation.SimulationListener;
+import simulation.Sprite;
+import util.Resource;
+
+// builds game states for the benchmarks
+final class Scenes {
+
+    // holding nothing, dino just runs
+    static final int NO_INPUT = Input.NONE;
+
+    // enemies start this far right of the dino so nothing collides during a benchmark
+    private static final int FIRST_ENEMY_X = 600;
+
+    private Scenes() {
+    }
+
+    // game past the intro with collisions off and the given number of enemies spread over the screen
+    static Simulation inProgress(long seed, int enemies) {
+        // collisions check pixels like the game does
+        Resource.loadCollisionMasks();
+        Simulation simulation = new Simulation(SimulationListener.NONE, seed);
+        simulation.tick(Input.UP_RELEASED | Input.DEBUG);
+        while(simulation.getGameState() != GameState.GAME_STATE_IN_PROGRESS)
+            simulation.tick(NO_INPUT);
+        addEnemies(simulation.getEnemies(), enemies);
+        return simulation;
+    }
+
+    static void addEnemies(Enemies target, int enemies) {
+        for(int i = 0; i < enemies; i++) {
+            double x = FIRST_ENEMY_X + (i * 37) % Simulation.SCREEN_WIDTH;
+            if(i % 3 == 2)
+                target.spawnBird(x, 40 + (i * 53) % 120);
+            else
+                target.spawnCactus(Sprite.cactus(i % Sprite.cactusCount() + 1), x);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simulation.Simulation;
+
+// one game tick (what GameScreen.updateFrame used to be) with a given number of enemies on screen
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SimulationBenchmark {
+
+    // enemies leave the screen after a few hundred ticks, so every invocation starts from a fresh game
+    private static final int TICKS = 100;
+
+    @Param({ "0", "10", "100", "1000" })
+    public int enemies;
+
+    private Simulation simulation;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        simulation = Scenes.inProgress(1, enemies);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public Simulation tick() {
+        for(int i = 0; i < TICKS; i++)
+            simulation.tick(Scenes.NO_INPUT);
+        return simulation;
+    }
+
+}
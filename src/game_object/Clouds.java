@@ -1,50 +1,42 @@
 package game_object;
 
+import user_interface.FrameSnapshot;
+import user_interface.FrameSnapshot.Layer;
 import user_interface.GameScreen;
+import util.Atlas;
+import util.Atlas.Region;
 
 import static user_interface.GameWindow.SCREEN_HEIGHT;
 import static user_interface.GameWindow.SCREEN_WIDTH;
-import static util.Resource.getImage;
 
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Set;
+import java.util.Random;
+
+import simulation.EntityStore;
 
 public class Clouds {
 	
-	private class Cloud {
-		
-		private BufferedImage cloudImage;
-		private double x;
-		private int y;
-		
-		private Cloud(BufferedImage cloudImage, double x, int y) {
-			this.cloudImage = cloudImage;
-			this.x = x;
-			this.y = y;
-		}
-		
-	}
-	
 	// number of max clouds on screen
 	private static final int CLOUDS_AMOUNT = 5;
 	// chance of getting cloud
 	private static final double CLOUD_PERCENTAGE = 0.4;
 	
 	private GameScreen gameScreen;
-	private Set<Cloud> clouds;
+	private EntityStore clouds;
+	// all clouds look the same, scaled once
+	private BufferedImage cloudImage;
 	// made clouds 2x bigger 
 	private int cloudWidthScaled;
 	private int cloudHeightScaled;
 	
 	public Clouds(GameScreen gameScreen) {
 		this.gameScreen = gameScreen;
-		clouds = new HashSet<Cloud>();
-		cloudWidthScaled = getImage("resources/cloud.png").getWidth() * 2;
-		cloudHeightScaled = getImage("resources/cloud.png").getHeight() * 2;
+		clouds = new EntityStore();
+		cloudWidthScaled = Region.CLOUD.width * 2;
+		cloudHeightScaled = Region.CLOUD.height * 2;
+		cloudImage = Atlas.get().scaled(Region.CLOUD, cloudWidthScaled, cloudHeightScaled);
 		
 	}
 	
@@ -54,25 +46,29 @@ public class Clouds {
 	}
 	
 	private void isOutOfScreen() {
-		for(Iterator<Cloud> i = clouds.iterator(); i.hasNext();) {
-			Cloud cloud = (Cloud)i.next();
-			cloud.x += gameScreen.getSpeedX() / 7;
-			if(cloud.x + cloudWidthScaled < 0) {
-				i.remove();
-			}
+		int kept = 0;
+		for(int i = 0; i < clouds.size(); i++) {
+			clouds.prevX[i] = clouds.x[i];
+			clouds.x[i] += gameScreen.getSpeedX() / 7;
+			if(clouds.x[i] + cloudWidthScaled < 0)
+				continue;
+			if(kept != i)
+				clouds.move(i, kept);
+			kept++;
 		}
+		clouds.truncate(kept);
 	}
 	
 	private void createClouds() {
 		if(clouds.size() < CLOUDS_AMOUNT) {
-			for(Iterator<Cloud> i = clouds.iterator(); i.hasNext();) {
-				Cloud temp = (Cloud)i.next();
+			for(int i = 0; i < clouds.size(); i++) {
 				// checking if enough space for next cloud 
-				if(temp.x >= SCREEN_WIDTH - cloudWidthScaled)
+				if(clouds.x[i] >= SCREEN_WIDTH - cloudWidthScaled)
 					return;
 			}
-			if(Math.random() * 100 < CLOUD_PERCENTAGE)
-				clouds.add(new Cloud(getImage("resources/cloud.png"), SCREEN_WIDTH, (int)(Math.random() * (SCREEN_HEIGHT / 2))));
+			Random random = gameScreen.getSceneryRandom();
+			if(random.nextDouble() * 100 < CLOUD_PERCENTAGE)
+				clouds.add(EntityStore.CLOUD, null, SCREEN_WIDTH, random.nextInt(SCREEN_HEIGHT / 2), cloudWidthScaled, cloudHeightScaled, gameScreen.getTick());
 		}
 	}
 	
@@ -80,18 +76,25 @@ public class Clouds {
 		clouds.clear();
 	}
 	
-	public void draw(Graphics g) {
-		for(Iterator<Cloud> i = clouds.iterator(); i.hasNext();) {
-			Cloud cloud = (Cloud)i.next();
-			g.drawImage(cloud.cloudImage, (int)cloud.x, cloud.y, cloudWidthScaled, cloudHeightScaled, null);
+	public void capture(FrameSnapshot frame) {
+		frame.clouds.clear();
+		for(int i = 0; i < clouds.size(); i++) {
+			frame.clouds.add(null, clouds.prevX[i], clouds.x[i], clouds.y[i], clouds.y[i]);
+		}
+	}
+	
+	public void draw(Graphics g, FrameSnapshot frame, double interpolation) {
+		Layer clouds = frame.clouds;
+		for(int i = 0; i < clouds.count; i++) {
+			g.drawImage(cloudImage, (int)GameScreen.interpolate(clouds.prevX[i], clouds.x[i], interpolation), (int)clouds.y[i], null);
 		}
 	}
 	
-	public void drawHitbox(Graphics g) {
+	public void drawHitbox(Graphics g, FrameSnapshot frame) {
 		g.setColor(Color.GREEN);
-		for(Iterator<Cloud> i = clouds.iterator(); i.hasNext();) {
-			Cloud cloud = (Cloud)i.next();
-			g.drawRect((int)cloud.x, cloud.y, cloudWidthScaled, cloudHeightScaled);
+		Layer clouds = frame.clouds;
+		for(int i = 0; i < clouds.count; i++) {
+			g.drawRect((int)clouds.x[i], (int)clouds.y[i], cloudWidthScaled, cloudHeightScaled);
 		}
 	}
 	
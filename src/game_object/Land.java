@@ -1,6 +1,8 @@
 package game_object;
 
+import user_interface.FrameSnapshot;
 import user_interface.GameScreen;
+import util.Resource;
 
 import static user_interface.GameWindow.SCREEN_HEIGHT;
 import static user_interface.GameWindow.SCREEN_WIDTH;
@@ -13,6 +15,7 @@ public class Land {
 	
 	private GameScreen gameScreen;
 	private double x = 0;
+	private double prevX = 0;
 	private int y;
 	// here i made land 2x times bigger
 	private int landWidthScaled;
@@ -21,29 +24,40 @@ public class Land {
 	
 	public Land(GameScreen gameScreen) {
 		this.gameScreen = gameScreen;
-		land = getImage("resources/land.png");
-		y = SCREEN_HEIGHT - land.getHeight() * 2 - 4;
-		landWidthScaled = land.getWidth() * 2;
-		landHeightScaled = land.getHeight() * 2;
+		BufferedImage original = getImage(Resource.LAND);
+		landWidthScaled = original.getWidth() * 2;
+		landHeightScaled = original.getHeight() * 2;
+		y = SCREEN_HEIGHT - landHeightScaled - 4;
+		land = Resource.getScaledImage(Resource.LAND, landWidthScaled, landHeightScaled, false);
 	}
 	
 	public void updatePosition() {
+		prevX = x;
 		// + SPEED_X to 2 decimal points
 		x += Math.round(gameScreen.getSpeedX() * 100d) / 100d;
+		// if land out of screen set it to 0, previous position moves with it so interpolation doesn't jump
+		if(landWidthScaled <= (int)Math.abs(x)) {
+			prevX -= x;
+			x = 0;
+		}
 	}
 	
 	public void resetLand() {
 		x = 0;
+		prevX = 0;
+	}
+	
+	public void capture(FrameSnapshot frame) {
+		frame.landPrevX = prevX;
+		frame.landX = x;
 	}
 	
-	public void draw(Graphics g) {
-		g.drawImage(land, (int)x, y, landWidthScaled, landHeightScaled, null);
+	public void draw(Graphics g, FrameSnapshot frame, double interpolation) {
+		double drawX = GameScreen.interpolate(frame.landPrevX, frame.landX, interpolation);
+		g.drawImage(land, (int)drawX, y, null);
 		// drawing another land if image is ending
-		if(landWidthScaled - SCREEN_WIDTH <= (int)Math.abs(x))
-			g.drawImage(land, (int)(landWidthScaled + x), y, landWidthScaled, landHeightScaled, null);
-		// if land out of screen set it to 0
-		if(landWidthScaled <= (int)Math.abs(x))
-			x = 0;
+		if(landWidthScaled - SCREEN_WIDTH <= (int)Math.abs(drawX))
+			g.drawImage(land, (int)(landWidthScaled + drawX), y, null);
 	}
 	
 }
@@ -1,142 +1,156 @@
 package game_object;
 
+import user_interface.FrameSnapshot;
 import user_interface.GameScreen;
 import manager.SoundManager;
+import util.CachedLayer;
+import util.ParticleRenderer;
+import util.Particles;
+import util.Resource;
 
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.AlphaComposite;
 import java.awt.RadialGradientPaint;
 import java.awt.geom.Point2D;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Random;
 
 import static user_interface.GameWindow.SCREEN_WIDTH;
 import static user_interface.GameWindow.SCREEN_HEIGHT;
 
+// drops are util.Particles that never die, one falling out of the screen starts again at the top
 public class Rain {
-    
-    private class RainDrop {
-        double x;
-        double y;
-        double speed;
-        int width;
-        int height;
-        
-        public RainDrop(double x, double y, double speed, int width, int height) {
-            this.x = x;
-            this.y = y;
-            this.speed = speed;
-            this.width = width;
-            this.height = height;
-        }
-    }
-    
-    private static final int RAIN_DROP_COUNT = 100;
+
+    public static final int RAIN_DROP_COUNT = 100;
     private static final int MIN_SPEED = 18;
     private static final int MAX_SPEED = 28;
     private static final int MIN_WIDTH = 3;
     private static final int MAX_WIDTH = 6;
     private static final int MIN_HEIGHT = 15;
     private static final int MAX_HEIGHT = 25;
-    
+    // drops used to be drawn at 60% over these
+    private static final int DROP_COLOR = ParticleRenderer.premultiply(153 << 24 | 0x282828);
+    private static final int DROP_EDGE_COLOR = ParticleRenderer.premultiply(153 << 24 | 0x505050);
+
     private GameScreen gameScreen;
-    private List<RainDrop> rainDrops;
+    private int rainDropCount;
+    private Particles rainDrops;
+    private ParticleRenderer renderer;
+    private CachedLayer vignette;
+    // sprite of every drop size, index (width - MIN_WIDTH) * heights + height - MIN_HEIGHT
+    private int[] dropSprites;
+    // drop height of every sprite, so a drop falling out of the screen starts again just above it
+    private int[] spriteHeights;
     private Random random;
     private boolean isRaining;
     private SoundManager rainSound;
-    
+
     public Rain(GameScreen gameScreen) {
+        this(gameScreen, RAIN_DROP_COUNT);
+    }
+
+    public Rain(GameScreen gameScreen, int rainDropCount) {
         this.gameScreen = gameScreen;
-        rainDrops = new ArrayList<RainDrop>();
-        random = new Random();
+        this.rainDropCount = rainDropCount;
+        rainDrops = new Particles();
+        renderer = new ParticleRenderer(SCREEN_WIDTH, SCREEN_HEIGHT);
+        vignette = new CachedLayer(SCREEN_WIDTH, SCREEN_HEIGHT, Rain::paintVignette);
+        dropSprites = new int[(MAX_WIDTH - MIN_WIDTH) * (MAX_HEIGHT - MIN_HEIGHT)];
+        spriteHeights = new int[dropSprites.length];
+        for(int width = MIN_WIDTH; width < MAX_WIDTH; width++) {
+            for(int height = MIN_HEIGHT; height < MAX_HEIGHT; height++)
+                dropSprites[(width - MIN_WIDTH) * (MAX_HEIGHT - MIN_HEIGHT) + height - MIN_HEIGHT] = addDropSprite(width, height);
+        }
+        random = gameScreen.getSceneryRandom();
         isRaining = false;
-        rainSound = new SoundManager("resources/Rain.wav");
-        rainSound.startThread();
+        // one rain at a time, starting it again restarts it
+        rainSound = new SoundManager(Resource.RAIN_SOUND, 1f, 0f, 1);
         initRain();
     }
-    
+
+    // dark drop with a lighter left edge
+    private int addDropSprite(int width, int height) {
+        int[] pixels = new int[width * height];
+        for(int i = 0; i < pixels.length; i++)
+            pixels[i] = i % width == 0 ? DROP_EDGE_COLOR : DROP_COLOR;
+        int sprite = renderer.addSprite(pixels, width, height);
+        spriteHeights[sprite] = height;
+        return sprite;
+    }
+
     private void initRain() {
         rainDrops.clear();
-        for(int i = 0; i < RAIN_DROP_COUNT; i++) {
+        for(int i = 0; i < rainDropCount; i++) {
             double x = random.nextDouble() * SCREEN_WIDTH;
             double y = random.nextDouble() * SCREEN_HEIGHT;
             double speed = MIN_SPEED + random.nextDouble() * (MAX_SPEED - MIN_SPEED);
             int width = MIN_WIDTH + random.nextInt(MAX_WIDTH - MIN_WIDTH);
             int height = MIN_HEIGHT + random.nextInt(MAX_HEIGHT - MIN_HEIGHT);
-            rainDrops.add(new RainDrop(x, y, speed, width, height));
+            rainDrops.emit(x, y, 0, speed, Particles.FOREVER,
+                    dropSprites[(width - MIN_WIDTH) * (MAX_HEIGHT - MIN_HEIGHT) + height - MIN_HEIGHT]);
         }
     }
-    
+
     public void setRaining(boolean raining) {
         this.isRaining = raining;
-        if(raining && rainDrops.isEmpty()) {
+        if(raining && rainDrops.size() == 0) {
             initRain();
         }
-        
+
         if(raining) {
             rainSound.play();
         }
     }
-    
+
     public boolean isRaining() {
         return isRaining;
     }
-    
+
     public void pause() {
         rainSound.pause();
     }
-    
+
     public void resume() {
         rainSound.resume();
     }
-    
+
     public void updatePosition() {
         if(!isRaining) return;
-        
-        for(Iterator<RainDrop> i = rainDrops.iterator(); i.hasNext();) {
-            RainDrop drop = i.next();
-            drop.y += drop.speed;
-            drop.x += gameScreen.getSpeedX() / 2;
-            
-            if(drop.y > SCREEN_HEIGHT) {
-                drop.y = -drop.height;
-                drop.x = random.nextDouble() * SCREEN_WIDTH;
-            }
-            
-            if(drop.x < -10) {
-                drop.x = SCREEN_WIDTH + 10;
-            }
+
+        rainDrops.update(gameScreen.getSpeedX() / 2, 0);
+        for(int i = 0; i < rainDrops.size(); i++) {
+            // wrapped drops start fresh, no interpolation across the screen
+            if(rainDrops.y[i] > SCREEN_HEIGHT)
+                rainDrops.moveTo(i, random.nextDouble() * SCREEN_WIDTH, -spriteHeights[rainDrops.sprite[i]]);
+
+            if(rainDrops.x[i] < -10)
+                rainDrops.moveTo(i, SCREEN_WIDTH + 10, rainDrops.y[i]);
         }
     }
-    
-    public void draw(Graphics g) {
-        if(!isRaining) return;
-        
-        Graphics2D g2d = (Graphics2D)g;
-        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.6f));
-        
-        for(RainDrop drop : rainDrops) {
-            g2d.setColor(new Color(40, 40, 40));
-            g2d.fillRect((int)drop.x, (int)drop.y, drop.width, drop.height);
-            g2d.setColor(new Color(80, 80, 80));
-            g2d.fillRect((int)drop.x, (int)drop.y, 1, drop.height);
-        }
-        
-        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1f));
+
+    public void capture(FrameSnapshot frame) {
+        frame.rainFalling = isRaining;
+        if(isRaining)
+            rainDrops.copyTo(frame.rainDrops);
+        else
+            frame.rainDrops.clear();
     }
-    
-    public void drawVignette(Graphics g) {
-        if(!isRaining) return;
-        
-        Graphics2D g2d = (Graphics2D)g;
-        
+
+    public void draw(Graphics g, FrameSnapshot frame, double interpolation) {
+        renderer.draw(g, frame.rainDrops, interpolation);
+    }
+
+    // same every frame, so it is painted once and only blitted from then on
+    public void drawVignette(Graphics g, FrameSnapshot frame) {
+        if(!frame.rainFalling) return;
+
+        vignette.draw(g, 0, 0);
+    }
+
+    private static void paintVignette(Graphics2D g2d) {
         Point2D center = new Point2D.Float(200, SCREEN_HEIGHT / 2f);
         float radius = 440f;
-        
+
         float[] dist = {0.0f, 0.3f, 0.6f, 0.85f, 1.0f};
         Color[] colors = {
             new Color(0, 0, 0, 0),
@@ -145,10 +159,9 @@ public class Rain {
             new Color(0, 0, 0, 220),
             new Color(0, 0, 0, 255)
         };
-        
+
         RadialGradientPaint gradient = new RadialGradientPaint(center, radius, dist, colors);
         g2d.setPaint(gradient);
         g2d.fillRect(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
-        g2d.setPaint(null);
     }
 }
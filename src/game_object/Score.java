@@ -4,13 +4,11 @@ import user_interface.GameScreen;
 
 import static user_interface.GameWindow.SCREEN_HEIGHT;
 import static user_interface.GameWindow.SCREEN_WIDTH;
-import static util.Resource.getImage;
 import static util.Resource.isJar;
 
 import java.awt.AlphaComposite;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
@@ -22,22 +20,19 @@ import java.util.Calendar;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import manager.SoundManager;
 import misc.GameState;
+import user_interface.FrameSnapshot;
+import util.Atlas;
+import util.Atlas.Region;
+import util.ScoreWriteEvent;
 
+// high score file and score drawing, the score itself is counted by the simulation
 public class Score {
-
-    public int getCurrentScore() {
-        return (int)score;
-    }
 	
-	// value by which score is increasing
-	private static final double SCORE_INC = 0.1;
 	// length of score on screen, max 99999 but i dont think that anyone will play that long so.....
 	private static final int SCORE_LENGTH = 5;
-	// width and height of single number on sprite
+	// width of single number on sprite
 	private static final int NUMBER_WIDTH = 20;
-	private static final int NUMBER_HEIGHT = 21;
 	// here i calculate position of score on screen
 	private static final int CURRENT_SCORE_X = SCREEN_WIDTH - (SCORE_LENGTH * NUMBER_WIDTH + SCREEN_WIDTH / 100);
 	private static final int HI_SCORE_X = SCREEN_WIDTH - (SCORE_LENGTH * NUMBER_WIDTH + SCREEN_WIDTH / 100) * 2;
@@ -47,50 +42,31 @@ public class Score {
 	private GameScreen gameScreen;
 	private String scoreFileName;
 	private File scoreFile;
-	private BufferedImage hi;
-	private BufferedImage numbers;
-	private SoundManager scoreUpSound;
+	private Atlas atlas;
 	
-	private double score;
 	private int hiScore;
 	
 	public Score(GameScreen gameScreen) {
 		this.gameScreen = gameScreen;
-		score = 0;
 		scoreFileName = "best-scores.txt";
 		scoreFile = new File("resources/" + scoreFileName);
 		readScore();
-		hi = getImage("resources/hi.png");
-		numbers = getImage("resources/numbers.png");
-		scoreUpSound = new SoundManager("resources/scoreup.wav");
-		scoreUpSound.startThread();
-	}
-	
-	public void scoreUp() {
-		score += SCORE_INC;
-		// play sound every 100 points
-		if((int)score != 0 && score % 100 <= 0.1)
-			scoreUpSound.play();
-	}
-	
-	// getting single number from sprite
-	private BufferedImage cropImage(BufferedImage image, int number) {
-		return image.getSubimage(number * NUMBER_WIDTH, 0, NUMBER_WIDTH, NUMBER_HEIGHT);
+		atlas = Atlas.get();
 	}
 	
-	private int[] scoreToArray(double scoreType) {
-		int scoreArray[] = new int[SCORE_LENGTH];
-		int tempScore = (int)scoreType;
-		for(int i = 0; i < SCORE_LENGTH; i++) {
-			int number = tempScore % 10;
-			tempScore = (tempScore - number) / 10;
-			scoreArray[i] = number;
+	// draws SCORE_LENGTH digits right to left, each one a blit of its region on the sprite sheet
+	private void drawNumber(Graphics g, int number, int x) {
+		for(int i = SCORE_LENGTH - 1; i >= 0; i--) {
+			atlas.draw(g, Region.digit(number % 10), x + i * NUMBER_WIDTH, SCORE_Y);
+			number /= 10;
 		}
-		return scoreArray;
 	}
 	
 	public void writeScore() {
+		int score = gameScreen.getScore();
 		if(score > hiScore) {
+			ScoreWriteEvent event = new ScoreWriteEvent();
+			event.begin();
 			File file;
 			// here i check if program is running from jar file so that i know where to store best results
 			// again because of that i use here ClassLoader
@@ -101,12 +77,17 @@ public class Score {
 				file = scoreFile;
 			try(BufferedWriter bw = new BufferedWriter(new FileWriter(file, true))) {
 				// just format of results, storing here result, date, player, where player is just Dino because i dont have any friends.....
-				bw.write(String.format("result=%s,date=%s,player=%s\n", Integer.toString((int)score), new SimpleDateFormat("yyyyMMdd_HHmmss")
+				bw.write(String.format("result=%s,date=%s,player=%s\n", Integer.toString(score), new SimpleDateFormat("yyyyMMdd_HHmmss")
 						.format(Calendar.getInstance().getTime()), "Dino"));
 				bw.close();
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
+			if(event.shouldCommit()) {
+				event.score = score;
+				event.file = file.getPath();
+				event.commit();
+			}
 		}
 	}
 	
@@ -136,30 +117,29 @@ public class Score {
 				}
 			}
 		} else
-			hiScore = (int)score;
+			hiScore = 0;
 	}
 	
 	public void scoreReset() {
-		if(score > hiScore)
-			hiScore = (int)score;
-		score = 0;
+		if(gameScreen.getScore() > hiScore)
+			hiScore = gameScreen.getScore();
+	}
+	
+	public void capture(FrameSnapshot frame) {
+		frame.hiScore = hiScore;
 	}
 	
-	public void draw(Graphics g) {
+	public void draw(Graphics g, FrameSnapshot frame) {
 		Graphics2D g2d = (Graphics2D)g;
-		int scoreArray[] = scoreToArray(score);
-		for(int i = 0; i < SCORE_LENGTH; i++) {
-			// this if needed to make blinking animation when score increased by 100
-			if((!((int)score >= 12 && (int)score % 100 <= 12) || (int)score % 3 == 0) || gameScreen.getGameState() == GameState.GAME_STATE_OVER)
-				g2d.drawImage(cropImage(numbers, scoreArray[SCORE_LENGTH - i - 1]), CURRENT_SCORE_X + i * NUMBER_WIDTH, SCORE_Y, null);
-		}
+		int score = frame.score;
+		int hiScore = frame.hiScore;
+		// this if needed to make blinking animation when score increased by 100
+		if((!(score >= 12 && score % 100 <= 12) || score % 3 == 0) || frame.gameState == GameState.GAME_STATE_OVER)
+			drawNumber(g2d, score, CURRENT_SCORE_X);
 		if(hiScore > 0) {
-			int hiScoreArray[] = scoreToArray(hiScore);
 			g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-			for(int i = 0; i < SCORE_LENGTH; i++) {
-				g2d.drawImage(cropImage(numbers, hiScoreArray[SCORE_LENGTH - i - 1]), HI_SCORE_X + i * NUMBER_WIDTH, SCORE_Y, null);
-			}
-			g2d.drawImage(hi, HI_X, SCORE_Y, null);
+			drawNumber(g2d, hiScore, HI_SCORE_X);
+			atlas.draw(g2d, Region.HI, HI_X, SCORE_Y);
 			g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1f));
 		}
 	}
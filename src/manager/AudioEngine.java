@@ -0,0 +1,260 @@
+package manager;
+
+import java.util.Arrays;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+
+import util.Histogram;
+import util.Resource;
+import util.TimestampedEventQueue;
+
+// one thread mixing every sound effect into one SourceDataLine
+// sounds are decoded once up front, playing one just takes a free voice, the game thread only drops commands into
+// a lock free queue so it never waits on audio
+public class AudioEngine implements Runnable {
+
+    private static final AudioFormat FORMAT = new AudioFormat(44100, 16, 2, true, false);
+    // ~5.8ms mixed at a time
+    private static final int CHUNK_FRAMES = 256;
+    // 4 chunks in the line, ~23ms from trigger to speaker at worst
+    private static final int LINE_BYTES = CHUNK_FRAMES * FORMAT.getFrameSize() * 4;
+    private static final int MAX_VOICES = 16;
+    private static final int MAX_SOUNDS = 32;
+    private static final double BYTES_PER_NANO = FORMAT.getFrameRate() * FORMAT.getFrameSize() / 1e9;
+
+    // commands are (sound << 2) | op
+    private static final int PLAY = 0;
+    private static final int PAUSE = 1;
+    private static final int RESUME = 2;
+    private static final int STOP = 3;
+
+    private static class Holder {
+        private static final AudioEngine ENGINE = new AudioEngine();
+    }
+
+    private static class Sound {
+        // interleaved left right
+        private final short[] samples;
+        private final float gainLeft;
+        private final float gainRight;
+        private final int maxVoices;
+
+        private Sound(short[] samples, float volume, float pan, int maxVoices) {
+            this.samples = samples;
+            // plain balance so a centered sound plays at its own volume
+            gainLeft = volume * Math.min(1, 1 - pan);
+            gainRight = volume * Math.min(1, 1 + pan);
+            this.maxVoices = maxVoices;
+        }
+    }
+
+    private final SourceDataLine line;
+    private final TimestampedEventQueue commands = new TimestampedEventQueue(256);
+    private final Sound[] sounds = new Sound[MAX_SOUNDS];
+    private int soundCount = 0;
+
+    // voices, only touched by the audio thread, sound -1 is a free voice
+    private final int[] voiceSound = new int[MAX_VOICES];
+    private final int[] voicePosition = new int[MAX_VOICES];
+    private final boolean[] voicePaused = new boolean[MAX_VOICES];
+    // when the voice started, oldest one is taken when there is no free voice
+    private final long[] voiceStarted = new long[MAX_VOICES];
+    // when play() was called, 0 once its first samples went out
+    private final long[] voiceTrigger = new long[MAX_VOICES];
+    private long voiceCounter = 0;
+    private boolean written = false;
+
+    private final float[] mix = new float[CHUNK_FRAMES * 2];
+    private final byte[] output = new byte[CHUNK_FRAMES * FORMAT.getFrameSize()];
+
+    // play() until the sound is in the line and the line has played what was queued before it
+    private final Histogram latency = new Histogram();
+    private volatile long underruns = 0;
+    private volatile long stolenVoices = 0;
+    private volatile int activeVoices = 0;
+
+    public static AudioEngine get() {
+        return Holder.ENGINE;
+    }
+
+    private AudioEngine() {
+        Arrays.fill(voiceSound, -1);
+        SourceDataLine opened = null;
+        try {
+            opened = AudioSystem.getSourceDataLine(FORMAT);
+            opened.open(FORMAT, LINE_BYTES);
+            opened.start();
+        } catch (Exception e) {
+            System.err.println("No audio output, sound effects are off");
+            e.printStackTrace();
+            opened = null;
+        }
+        line = opened;
+        if(line != null) {
+            Thread thread = new Thread(this, "Audio");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            thread.start();
+        }
+    }
+
+    public boolean isAvailable() {
+        return line != null;
+    }
+
+    // decodes the sound for mixing, -1 when it can't be played, volume 0..1, pan -1 (left) .. 1 (right)
+    public synchronized int register(String path, float volume, float pan, int maxVoices) {
+        if(line == null || soundCount == MAX_SOUNDS)
+            return -1;
+        short[] samples = Resource.getSamples(path, FORMAT);
+        if(samples == null)
+            return -1;
+        // published to the audio thread by the queue, it only looks a sound up after a command for it
+        sounds[soundCount] = new Sound(samples, volume, pan, maxVoices);
+        return soundCount++;
+    }
+
+    // all of these are called by the thread running the game ticks, the queue has a single producer
+    public void play(int sound) {
+        command(sound, PLAY);
+    }
+
+    public void pause(int sound) {
+        command(sound, PAUSE);
+    }
+
+    public void resume(int sound) {
+        command(sound, RESUME);
+    }
+
+    public void stop(int sound) {
+        command(sound, STOP);
+    }
+
+    private void command(int sound, int op) {
+        if(sound >= 0 && line != null)
+            commands.offer(sound << 2 | op, System.nanoTime());
+    }
+
+    // audio thread, the blocking line.write paces it
+    @Override
+    public void run() {
+        while(true) {
+            long now = System.nanoTime();
+            while(commands.hasEventUntil(now)) {
+                execute(commands.peekEvent() >> 2, commands.peekEvent() & 3, commands.peekTime());
+                commands.advance();
+            }
+            mixChunk();
+            // line ran dry since the last write, something was late
+            int queued = line.getBufferSize() - line.available();
+            if(queued == 0 && written)
+                underruns++;
+            long writeTime = System.nanoTime();
+            for(int v = 0; v < MAX_VOICES; v++) {
+                if(voiceTrigger[v] != 0) {
+                    latency.record(writeTime - voiceTrigger[v] + (long)(queued / BYTES_PER_NANO));
+                    voiceTrigger[v] = 0;
+                }
+            }
+            line.write(output, 0, output.length);
+            written = true;
+        }
+    }
+
+    private void execute(int sound, int op, long time) {
+        if(op == PLAY) {
+            start(sound, time);
+            return;
+        }
+        for(int v = 0; v < MAX_VOICES; v++) {
+            if(voiceSound[v] != sound)
+                continue;
+            if(op == STOP)
+                voiceSound[v] = -1;
+            else
+                voicePaused[v] = op == PAUSE;
+        }
+    }
+
+    // takes a free voice, or the oldest one of this sound when it is at its limit, or the oldest one at all
+    private void start(int sound, long time) {
+        int count = 0;
+        int oldestOwn = -1;
+        int oldest = -1;
+        int free = -1;
+        for(int v = 0; v < MAX_VOICES; v++) {
+            if(voiceSound[v] == -1) {
+                if(free == -1)
+                    free = v;
+                continue;
+            }
+            if(voiceSound[v] == sound) {
+                count++;
+                if(oldestOwn == -1 || voiceStarted[v] < voiceStarted[oldestOwn])
+                    oldestOwn = v;
+            }
+            if(oldest == -1 || voiceStarted[v] < voiceStarted[oldest])
+                oldest = v;
+        }
+        int v = count >= sounds[sound].maxVoices ? oldestOwn : free != -1 ? free : oldest;
+        if(v != free)
+            stolenVoices++;
+        voiceSound[v] = sound;
+        voicePosition[v] = 0;
+        voicePaused[v] = false;
+        voiceStarted[v] = ++voiceCounter;
+        voiceTrigger[v] = time;
+    }
+
+    private void mixChunk() {
+        Arrays.fill(mix, 0);
+        int active = 0;
+        for(int v = 0; v < MAX_VOICES; v++) {
+            if(voiceSound[v] == -1)
+                continue;
+            active++;
+            if(voicePaused[v])
+                continue;
+            Sound sound = sounds[voiceSound[v]];
+            short[] samples = sound.samples;
+            int position = voicePosition[v];
+            int length = Math.min(mix.length, samples.length - position);
+            for(int i = 0; i < length; i += 2) {
+                mix[i] += samples[position + i] * sound.gainLeft;
+                mix[i + 1] += samples[position + i + 1] * sound.gainRight;
+            }
+            voicePosition[v] = position + length;
+            if(voicePosition[v] >= samples.length)
+                voiceSound[v] = -1;
+        }
+        activeVoices = active;
+        for(int i = 0; i < mix.length; i++) {
+            int sample = (int)Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            output[i * 2] = (byte)sample;
+            output[i * 2 + 1] = (byte)(sample >> 8);
+        }
+    }
+
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    public long getUnderruns() {
+        return underruns;
+    }
+
+    public long getStolenVoices() {
+        return stolenVoices;
+    }
+
+    public int getActiveVoices() {
+        return activeVoices;
+    }
+
+    public int getMaxVoices() {
+        return MAX_VOICES;
+    }
+
+}
@@ -6,114 +6,271 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-public class BGMManager implements LineListener {
-    
+import util.ByteRing;
+
+// streams the background music instead of loading whole tracks into a Clip
+// every track gets a reader thread decoding into a small ring, the player thread takes from the rings and writes
+// to one SourceDataLine, the next track is started early and crossfaded in so there is never a gap
+public class BGMManager {
+
+    // every track is converted to this so two of them can be mixed during a crossfade
+    private static final AudioFormat FORMAT = new AudioFormat(44100, 16, 2, true, false);
+    private static final int FRAME_SIZE = FORMAT.getFrameSize();
+    // ~370ms of music decoded ahead per track
+    private static final int RING_BYTES = 64 * 1024;
+    // ~93ms in the line, more only delays pause and resume
+    private static final int LINE_BYTES = 16 * 1024;
+    // what the player mixes and writes at once, ~23ms
+    private static final int CHUNK_BYTES = 4 * 1024;
+    private static final int READ_BYTES = 8 * 1024;
+    private static final long CROSSFADE_FRAMES = (long)(FORMAT.getFrameRate() * 2);
+    // how long the player waits when a reader hasn't caught up yet
+    private static final long UNDERRUN_WAIT_MILLIS = 1;
+
     private List<String> trackList;
     private List<String> currentPlaylist;
     private int currentTrackIndex;
-    private Clip currentClip;
-    private boolean isPlaying;
-    
+    private volatile SourceDataLine line;
+    private Thread player;
+    private volatile boolean isPlaying;
+
     public BGMManager() {
         trackList = new ArrayList<>();
         trackList.add("resources/Subwoofer-Lullaby.wav");
         trackList.add("resources/Biome-Fest.wav");
         trackList.add("resources/Watcher.wav");
-        
+
         currentPlaylist = new ArrayList<>();
         currentTrackIndex = 0;
         isPlaying = false;
-        
+
         shufflePlaylist();
     }
-    
+
     private void shufflePlaylist() {
         currentPlaylist.clear();
         currentPlaylist.addAll(trackList);
         Collections.shuffle(currentPlaylist);
         currentTrackIndex = 0;
     }
-    
-    public void start() {
-        if(!isPlaying) {
-            playNextTrack();
-            isPlaying = true;
+
+    // only opens the line, tracks load on the player thread so this returns right away
+    public synchronized void start() {
+        if(isPlaying)
+            return;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, LINE_BYTES);
+
+            // Set volume to 80%
+            if(line.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
+                FloatControl gainControl = (FloatControl) line.getControl(FloatControl.Type.MASTER_GAIN);
+                float dB = (float) (Math.log(0.8) / Math.log(10.0) * 20.0);
+                gainControl.setValue(dB);
+            }
+
+            line.start();
+        } catch(Exception e) {
+            System.err.println("Error opening BGM line");
+            e.printStackTrace();
+            line = null;
+            return;
+        }
+        isPlaying = true;
+        player = new Thread(this::play, "BGM");
+        player.setDaemon(true);
+        player.start();
+    }
+
+    // player thread, the blocking line.write paces it
+    private void play() {
+        byte[] mix = new byte[CHUNK_BYTES];
+        byte[] fade = new byte[CHUNK_BYTES];
+        Track current = playNextTrack();
+        Track next = null;
+        boolean nextFailed = false;
+        while(isPlaying && current != null) {
+            // start decoding the next track early enough to fade into it
+            if(next == null && !nextFailed && current.remainingFrames() <= CROSSFADE_FRAMES) {
+                next = playNextTrack();
+                nextFailed = next == null;
+            }
+            if(current.ring.isDrained()) {
+                current.close();
+                // unknown length, no crossfade, next one starts right when this one ends
+                current = next != null ? next : playNextTrack();
+                next = null;
+                nextFailed = false;
+                continue;
+            }
+            int length = Math.min(current.ring.available(), CHUNK_BYTES) / FRAME_SIZE * FRAME_SIZE;
+            if(length == 0) {
+                sleep(UNDERRUN_WAIT_MILLIS);
+                continue;
+            }
+            long fadeFrame = current.playedFrames - (current.frames - CROSSFADE_FRAMES);
+            current.ring.read(mix, 0, length);
+            current.playedFrames += length / FRAME_SIZE;
+            if(next != null) {
+                // next track only lacks data in its first few ms, missing part just stays silent
+                int fadeLength = Math.min(next.ring.available(), length) / FRAME_SIZE * FRAME_SIZE;
+                next.ring.read(fade, 0, fadeLength);
+                next.playedFrames += fadeLength / FRAME_SIZE;
+                crossfade(mix, fade, length, fadeLength, fadeFrame);
+            }
+            SourceDataLine output = line;
+            if(output == null)
+                break;
+            output.write(mix, 0, length);
         }
+        if(current != null)
+            current.close();
+        if(next != null)
+            next.close();
     }
-    
-    private void playNextTrack() {
-        if(currentTrackIndex >= currentPlaylist.size()) {
-            shufflePlaylist();
+
+    // mixes fade into mix, equal power so the loudness doesn't dip halfway through
+    // fadeFrame is how far into the crossfade the first frame of mix is
+    private static void crossfade(byte[] mix, byte[] fade, int length, int fadeLength, long fadeFrame) {
+        for(int i = 0; i < length; i += 2) {
+            double progress = Math.max(0, Math.min(1, (double)(fadeFrame + i / FRAME_SIZE) / CROSSFADE_FRAMES));
+            double out = Math.cos(progress * Math.PI / 2);
+            double in = Math.sin(progress * Math.PI / 2);
+            int a = (short)((mix[i] & 0xFF) | (mix[i + 1] << 8));
+            int b = i < fadeLength ? (short)((fade[i] & 0xFF) | (fade[i + 1] << 8)) : 0;
+            int sample = (int)Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, a * out + b * in));
+            mix[i] = (byte)sample;
+            mix[i + 1] = (byte)(sample >> 8);
         }
-        
-        String trackPath = currentPlaylist.get(currentTrackIndex);
-        currentTrackIndex++;
-        
-        try {
-            if(currentClip != null) {
-                currentClip.close();
+    }
+
+    // opens the next track of the playlist and starts decoding it, null when none of them can be played
+    private Track playNextTrack() {
+        for(int attempt = 0; attempt < trackList.size() && isPlaying; attempt++) {
+            if(currentTrackIndex >= currentPlaylist.size()) {
+                shufflePlaylist();
             }
-            
+
+            String trackPath = currentPlaylist.get(currentTrackIndex);
+            currentTrackIndex++;
+
             File audioFile = new File(trackPath);
-            
+
             if(!audioFile.exists()) {
                 System.err.println("BGM file not found: " + trackPath);
-                return;
+                continue;
             }
-            
-            System.out.println("Loading BGM: " + trackPath);
-            
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(audioFile);
-            AudioFormat format = audioStream.getFormat();
-            DataLine.Info info = new DataLine.Info(Clip.class, format);
-            
-            currentClip = (Clip) AudioSystem.getLine(info);
-            currentClip.open(audioStream);
-            
-            // Set volume to 80%
-            if(currentClip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                FloatControl gainControl = (FloatControl) currentClip.getControl(FloatControl.Type.MASTER_GAIN);
-                float dB = (float) (Math.log(0.8) / Math.log(10.0) * 20.0);
-                gainControl.setValue(dB);
+
+            try {
+                long start = System.nanoTime();
+                AudioInputStream audioStream = AudioSystem.getAudioInputStream(audioFile);
+                long frames = audioStream.getFrameLength();
+                if(!audioStream.getFormat().matches(FORMAT)) {
+                    // converted streams don't know their length, resampling keeps the duration though
+                    if(frames != AudioSystem.NOT_SPECIFIED)
+                        frames = (long)(frames * (double)FORMAT.getFrameRate() / audioStream.getFormat().getFrameRate());
+                    audioStream = AudioSystem.getAudioInputStream(FORMAT, audioStream);
+                }
+                Track track = new Track(trackPath, audioStream, frames);
+                // switch latency is how long until the first music of the new track could be played
+                while(track.ring.available() == 0 && !track.ring.isDrained())
+                    sleep(UNDERRUN_WAIT_MILLIS);
+                long wholeTrackBytes = track.frames == AudioSystem.NOT_SPECIFIED ? -1 : track.frames * FRAME_SIZE;
+                System.out.println("Now playing: " + trackPath + " (ready in " + (System.nanoTime() - start) / 1_000_000 + "ms, "
+                        + (RING_BYTES + LINE_BYTES) / 1024 + "KB buffered"
+                        + (wholeTrackBytes < 0 ? "" : String.format(" instead of %.1fMB in a Clip", wholeTrackBytes / (1024.0 * 1024))) + ")");
+                return track;
+            } catch(Exception e) {
+                System.err.println("Error playing BGM: " + trackPath);
+                e.printStackTrace();
             }
-            
-            currentClip.addLineListener(this);
-            currentClip.start();
-            
-            System.out.println("Now playing: " + trackPath);
-            
-        } catch(Exception e) {
-            System.err.println("Error playing BGM: " + trackPath);
-            e.printStackTrace();
         }
+        return null;
     }
-    
-    @Override
-    public void update(LineEvent event) {
-        if(event.getType() == LineEvent.Type.STOP) {
-            if(currentClip != null && currentClip.getFramePosition() >= currentClip.getFrameLength() - 1) {
-                playNextTrack();
-            }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
-    
-    public void pause() {
-        if(currentClip != null && currentClip.isRunning()) {
-            currentClip.stop();
+
+    public synchronized void pause() {
+        // player blocks in write until resume
+        if(line != null && line.isRunning()) {
+            line.stop();
         }
     }
-    
-    public void resume() {
-        if(currentClip != null && !currentClip.isRunning()) {
-            currentClip.start();
+
+    public synchronized void resume() {
+        if(line != null && !line.isRunning()) {
+            line.start();
         }
     }
-    
-    public void stop() {
-        if(currentClip != null) {
-            currentClip.stop();
-            currentClip.close();
+
+    public synchronized void stop() {
+        if(line != null) {
             isPlaying = false;
+            SourceDataLine output = line;
+            line = null;
+            output.stop();
+            output.flush();
+            // also wakes the player up if it is blocked in write
+            output.close();
+        }
+    }
+
+    // one track being streamed, its reader thread stays up to a ring ahead of the player
+    private static class Track implements Runnable {
+
+        private final String path;
+        private final AudioInputStream stream;
+        private final long frames;
+        private final ByteRing ring = new ByteRing(RING_BYTES);
+        private final Thread reader;
+        // only touched by the player
+        private long playedFrames = 0;
+
+        private Track(String path, AudioInputStream stream, long frames) {
+            this.path = path;
+            this.stream = stream;
+            this.frames = frames;
+            reader = new Thread(this, "BGM-Reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        @Override
+        public void run() {
+            byte[] buffer = new byte[READ_BYTES];
+            try {
+                int read;
+                while((read = stream.read(buffer)) >= 0) {
+                    if(!ring.write(buffer, 0, read))
+                        break;
+                }
+            } catch(Exception e) {
+                System.err.println("Error streaming BGM: " + path);
+                e.printStackTrace();
+            } finally {
+                ring.finish();
+                try {
+                    stream.close();
+                } catch(Exception e) {
+                    // nothing left to do with it
+                }
+            }
+        }
+
+        private long remainingFrames() {
+            if(frames == AudioSystem.NOT_SPECIFIED)
+                return Long.MAX_VALUE;
+            return frames - playedFrames;
+        }
+
+        private void close() {
+            reader.interrupt();
         }
     }
 }
@@ -1,23 +1,75 @@
 package manager;
 
+import static simulation.Simulation.TICKS_PER_SECOND;
+
 import misc.Controls;
-import user_interface.GameScreen;
+import simulation.Input;
+import util.TimestampedEventQueue;
 
 public class ControlsManager {
 
+	private static final long NS_PER_TICK = 1_000_000_000L / TICKS_PER_SECOND;
+
 	Controls controls;
-	GameScreen gameScreen;
 	
-	public ControlsManager(Controls controls, GameScreen gameScreen) {
+	private boolean upHeld = false;
+	private boolean downHeld = false;
+	
+	public ControlsManager(Controls controls) {
 		this.controls = controls;
-		this.gameScreen = gameScreen;
 	}
 	
-	public void update() {
-		if(controls.isPressedUp())
-			gameScreen.pressUpAction();
-		if(controls.isPressedDown())
-			gameScreen.pressDownAction();
+	// input for the tick that ends at tickTime (System.nanoTime), takes every key event up to then in order
+	// and leaves later ones for the next tick so taps between two ticks are never lost
+	public int update(long tickTime) {
+		TimestampedEventQueue events = controls.getEvents();
+		long tickStart = tickTime - NS_PER_TICK;
+		int input = Input.NONE;
+		// how long UP was down during this tick
+		long upHeldSince = tickStart;
+		long upHeldNanos = 0;
+		boolean upPressed = upHeld;
+		while(events.hasEventUntil(tickTime)) {
+			int event = events.peekEvent();
+			long time = Math.max(events.peekTime(), tickStart);
+			events.advance();
+			switch (event) {
+				case Input.UP:
+					// key repeat sends presses while held
+					if(!upHeld)
+						upHeldSince = time;
+					upHeld = true;
+					upPressed = true;
+					break;
+				case Input.UP_RELEASED:
+					if(upHeld)
+						upHeldNanos += time - upHeldSince;
+					upHeld = false;
+					input |= Input.UP_RELEASED;
+					break;
+				case Input.DOWN:
+					downHeld = true;
+					break;
+				case Input.DOWN_RELEASED:
+					downHeld = false;
+					input |= Input.DOWN_RELEASED;
+					break;
+				default:
+					input |= event;
+					break;
+			}
+		}
+		if(upHeld) {
+			input |= Input.UP;
+		} else if(upPressed) {
+			// let go (or tapped) during the tick, simulation gets the jump and how much of the tick it was already released
+			input |= Input.UP;
+			input = Input.withUpReleasedPart(input, (int)((NS_PER_TICK - upHeldNanos) * Input.PARTS_PER_TICK / NS_PER_TICK));
+		}
+		// down only counts held at the end of the tick, a tap would duck and never get its release
+		if(downHeld)
+			input |= Input.DOWN;
+		return input;
 	}
 	
 }
@@ -1,67 +1,50 @@
 package manager;
-import static util.Resource.getSound;
-import javax.sound.sampled.Clip;
 
-// creating new thread for every sound because when i tried to just play sound in main thread
-// i had laggy sound and sometimes and delayed a lot so.....
-public class SoundManager implements Runnable {
-        public static int WAITING_TIME = 0;
-        
-        Thread thread;
-        
-        private boolean playSound = false;
-        private String path;
-        private Clip clip;
-        
+import util.SoundPlayEvent;
+
+// one sound effect, played through the shared AudioEngine
+// used to be a thread and a fresh Clip per play, which lagged and leaked clips, the mixer thread does it all now
+public class SoundManager {
+
+        // how many copies of one sound may overlap before the oldest is cut off
+        public static final int DEFAULT_VOICES = 2;
+
+        private final AudioEngine engine;
+        private final String path;
+        // -1 when there is no audio output or the file couldn't be loaded, everything is a no op then
+        private final int sound;
+
         public SoundManager(String path) {
-                thread = new Thread(this);
-                this.path = path;
+                this(path, 1f, 0f, DEFAULT_VOICES);
         }
-        
-        @Override
-        public void run() {
-                // constantly running with same delays i calculate in GameScreen
-                // playSound sets to true if i want to play sound
-                while(true) {
-                        try {
-                                Thread.sleep(WAITING_TIME);
-                        } catch (InterruptedException e) {
-                                e.printStackTrace();
-                        }
-                        if(playSound) {
-//                              System.out.println("played " + path);
-                                clip = getSound(path);
-                                clip.start();
-                                playSound = false;
-                        }
-                }
-        }
-        public void startThread() {
-                thread.start();
+
+        // volume 0..1, pan -1 (left) .. 1 (right)
+        public SoundManager(String path, float volume, float pan, int maxVoices) {
+                this.path = path;
+                engine = AudioEngine.get();
+                sound = engine.register(path, volume, pan, maxVoices);
         }
-        
+
         public void play() {
-                playSound = true;
+                SoundPlayEvent event = new SoundPlayEvent();
+                event.begin();
+                engine.play(sound);
+                if(event.shouldCommit()) {
+                        event.path = path;
+                        event.commit();
+                }
         }
-        
+
         public void pause() {
-                if(clip != null && clip.isRunning()) {
-                        clip.stop();
-                }
+                engine.pause(sound);
         }
-        
+
         public void resume() {
-                if(clip != null && !clip.isRunning()) {
-                        clip.start();
-                }
+                engine.resume(sound);
         }
-        
+
         public void stop() {
-                if(clip != null) {
-                        clip.stop();
-                        clip.close();
-                        clip = null;
-                }
+                engine.stop(sound);
         }
-        
+
 }
@@ -1,6 +1,7 @@
 package misc;
 
-import user_interface.GameScreen;
+import simulation.Input;
+import util.TimestampedEventQueue;
 
 import java.awt.event.ActionEvent;
 import javax.swing.JComponent;
@@ -12,6 +13,8 @@ import javax.swing.KeyStroke;
 public class Controls {
 
 	private static final int FOCUS_STATE = JComponent.WHEN_IN_FOCUSED_WINDOW;
+	// way more than anyone can press between two ticks
+	private static final int QUEUE_CAPACITY = 256;
 	
 	private static final String UP = "UP";
 	private static final String DOWN = "DOWN";
@@ -35,13 +38,11 @@ public class Controls {
 	public JLabel pressDebug = new JLabel();
 	public JLabel pressPause = new JLabel();
 	
-	private boolean isPressedUp = false;
-	private boolean isPressedDown = false;
+	// key events as Input flags with the time they happened, pressing UP/DOWN is queued as UP/DOWN
+	// written only by the EDT, read only by the game thread
+	private final TimestampedEventQueue events = new TimestampedEventQueue(QUEUE_CAPACITY);
 	
-	GameScreen gameScreen;
-	
-	public Controls(GameScreen gameScreen) {
-		this.gameScreen = gameScreen;
+	public Controls() {
 		// PRESS RELEASE ARROW UP //
 		pressUp.getInputMap(FOCUS_STATE).put(KeyStroke.getKeyStroke("UP"), UP);
 		pressUp.getActionMap().put(UP, new PressUpAction());
@@ -78,19 +79,19 @@ public class Controls {
 		pressPause.getActionMap().put(ESCAPE_PAUSE, new PressPauseAction());
 	}
 	
-	public boolean isPressedUp() {
-		return isPressedUp;
+	public TimestampedEventQueue getEvents() {
+		return events;
 	}
-
-	public boolean isPressedDown() {
-		return isPressedDown;
+	
+	private void addEvent(int event) {
+		events.offer(event, System.nanoTime());
 	}
 
 	private class PressUpAction extends AbstractAction {
 		@Override
 		public void actionPerformed(ActionEvent e) {
 //			System.out.println("up");
-			isPressedUp = true;
+			addEvent(Input.UP);
 		}
 	}
 	
@@ -98,8 +99,7 @@ public class Controls {
 		@Override
 		public void actionPerformed(ActionEvent e) {
 //			System.out.println("released up");
-			gameScreen.releaseUpAction();
-			isPressedUp = false;
+			addEvent(Input.UP_RELEASED);
 		}
 	}
 	
@@ -107,7 +107,7 @@ public class Controls {
 		@Override
 		public void actionPerformed(ActionEvent e) {
 //			System.out.println("down");
-			isPressedDown = true;
+			addEvent(Input.DOWN);
 		}
 	}
 	
@@ -115,8 +115,7 @@ public class Controls {
 		@Override
 		public void actionPerformed(ActionEvent e) {
 //			System.out.println("released down");
-			gameScreen.releaseDownAction();
-			isPressedDown = false;
+			addEvent(Input.DOWN_RELEASED);
 		}
 	}
 	
@@ -124,7 +123,7 @@ public class Controls {
 		@Override
 		public void actionPerformed(ActionEvent e) {
 //			System.out.println("press debug");
-			gameScreen.pressDebugAction();
+			addEvent(Input.DEBUG);
 		}
 	}
 	
@@ -132,7 +131,7 @@ public class Controls {
 		@Override
 		public void actionPerformed(ActionEvent e) {
 //			System.out.println("press pause");
-			gameScreen.pressPauseAction();
+			addEvent(Input.PAUSE);
 		}
 	}
 	
@@ -0,0 +1,10 @@
+package misc;
+
+public enum PacingMode {
+	
+	// LockSupport.parkNanos until shortly before the deadline then spin, default
+	HYBRID,
+	// Thread.sleep with millisecond resolution like the game always did
+	SLEEP;
+	
+}
@@ -0,0 +1,10 @@
+package misc;
+
+public enum RenderMode {
+	
+	// Swing repaint() on the EDT, default
+	PASSIVE,
+	// render thread draws straight into a Canvas BufferStrategy
+	ACTIVE;
+	
+}
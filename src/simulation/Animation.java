@@ -0,0 +1,40 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Animation {
+
+    private List<Sprite> sprites;
+    private int currentSpriteIndex = 0;
+    private int updateTicks;
+    private int ticksSinceUpdate = 0;
+
+    public Animation(int updateTicks) {
+        this.updateTicks = updateTicks;
+        sprites = new ArrayList<Sprite>();
+    }
+
+    // updating sprite every set ticks
+    public void updateSprite() {
+        ticksSinceUpdate++;
+        if(ticksSinceUpdate >= updateTicks) {
+            currentSpriteIndex++;
+            if(currentSpriteIndex >= sprites.size())
+                currentSpriteIndex = 0;
+            ticksSinceUpdate = 0;
+        }
+    }
+
+    public void addSprite(Sprite sprite) {
+        sprites.add(sprite);
+    }
+
+    public Sprite getSprite() {
+        if(sprites.size() > 0) {
+            return sprites.get(currentSpriteIndex);
+        }
+        return null;
+    }
+
+}
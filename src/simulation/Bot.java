@@ -0,0 +1,57 @@
+package simulation;
+
+// scripted player for headless runs, jumps cactuses and low birds, ducks under birds at head height
+public final class Bot {
+
+    // from jumping to the top of a jump with the key held
+    private static final double TICKS_TO_TOP = -Simulation.SPEED_Y / Simulation.GRAVITY;
+
+    private final int reactionTicks;
+
+    // how many ticks before a bird reaches the dino the bot reacts
+    public Bot(int reactionTicks) {
+        this.reactionTicks = reactionTicks;
+    }
+
+    public int input(Simulation simulation) {
+        double speed = -simulation.getSpeedX();
+        double reach = speed * reactionTicks;
+        // dino hitbox when running and when ducking, looked up every time as masks replace them once loaded
+        int runTop = Simulation.GROUND_Y - Sprite.DINO_RUN_1.getHeight() + Sprite.DINO_RUN_1.getHitboxY();
+        int downRunTop = Simulation.GROUND_Y - Sprite.DINO_DOWN_RUN_1.getHeight() + Sprite.DINO_DOWN_RUN_1.getHitboxY();
+        int dinoLeft = (int)DinoBody.X + Sprite.DINO_RUN_1.getHitboxX();
+        int dinoRight = dinoLeft + Sprite.DINO_RUN_1.getHitboxWidth();
+        EntityStore entities = simulation.getEnemies().getEntities();
+        // cactuses win over birds, the top of the jump goes over the middle of the next group
+        // cactuses closer together than the dino is wide have to be cleared in one jump
+        int groupLeft = 0;
+        int groupRight = Integer.MIN_VALUE;
+        for(int i = 0; i < entities.size(); i++) {
+            if(entities.type[i] != EntityStore.CACTUS)
+                continue;
+            int x = entities.getHitboxX(i);
+            int right = x + entities.getHitboxWidth(i);
+            if(right <= dinoLeft)
+                continue;
+            if(groupRight == Integer.MIN_VALUE)
+                groupLeft = x;
+            else if(x - groupRight >= dinoRight - dinoLeft)
+                break;
+            groupRight = Math.max(groupRight, right);
+        }
+        if(groupRight != Integer.MIN_VALUE && (groupLeft + groupRight - dinoLeft - dinoRight) / 2 < speed * TICKS_TO_TOP)
+            return Input.UP;
+        for(int i = 0; i < entities.size(); i++) {
+            if(entities.type[i] != EntityStore.BIRD)
+                continue;
+            int x = entities.getHitboxX(i);
+            int bottom = entities.getHitboxY(i) + entities.getHitboxHeight(i);
+            // birds are a bit faster than the ground
+            if(bottom <= runTop || x + entities.getHitboxWidth(i) <= dinoLeft || x - dinoRight >= reach * 1.2)
+                continue;
+            return bottom <= downRunTop ? Input.DOWN : Input.UP;
+        }
+        return Input.NONE;
+    }
+
+}
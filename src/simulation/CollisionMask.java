@@ -0,0 +1,116 @@
+package simulation;
+
+// solid pixels of a sprite as bits, 64 pixels per long, bit i of a word is the i-th pixel from its left
+// two sprites only collide when a solid pixel of one lies on a solid pixel of the other, checking a row is
+// a few shifts and one and per 64 pixels
+// made from the images at load time (util.Resource) so the simulation itself never touches an image
+public final class CollisionMask {
+
+    // alpha from 0 to 255 at or above this counts as solid
+    public static final int SOLID_ALPHA = 128;
+
+    private final int width;
+    private final int height;
+    private final int words;
+    private final long[] rows;
+    // smallest box around the solid pixels, empty when there are none
+    private int left;
+    private int top;
+    private int right = 0;
+    private int bottom = 0;
+
+    private CollisionMask(int width, int height) {
+        this.width = width;
+        this.height = height;
+        words = (width + 63) >>> 6;
+        rows = new long[words * height];
+        left = width;
+        top = height;
+    }
+
+    // argb pixels row by row, shrunk by a whole factor for sprites drawn smaller than their image,
+    // a pixel is solid when its block is on average
+    public static CollisionMask fromArgb(int[] argb, int imageWidth, int imageHeight, int shrink) {
+        CollisionMask mask = new CollisionMask(imageWidth / shrink, imageHeight / shrink);
+        for(int y = 0; y < mask.height; y++) {
+            for(int x = 0; x < mask.width; x++) {
+                int alpha = 0;
+                for(int by = 0; by < shrink; by++)
+                    for(int bx = 0; bx < shrink; bx++)
+                        alpha += argb[(y * shrink + by) * imageWidth + x * shrink + bx] >>> 24;
+                if(alpha >= SOLID_ALPHA * shrink * shrink)
+                    mask.set(x, y);
+            }
+        }
+        return mask;
+    }
+
+    private void set(int x, int y) {
+        rows[y * words + (x >>> 6)] |= 1L << (x & 63);
+        left = Math.min(left, x);
+        top = Math.min(top, y);
+        right = Math.max(right, x + 1);
+        bottom = Math.max(bottom, y + 1);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isSolid(int x, int y) {
+        return (rows[y * words + (x >>> 6)] >>> (x & 63) & 1) != 0;
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    // solid box, 0 wide and high when nothing is solid
+    public int getBoundsWidth() {
+        return Math.max(0, right - left);
+    }
+
+    public int getBoundsHeight() {
+        return Math.max(0, bottom - top);
+    }
+
+    // a drawn at (ax, ay) and b drawn at (bx, by) share a solid pixel
+    public static boolean overlaps(CollisionMask a, int ax, int ay, CollisionMask b, int bx, int by) {
+        int startX = Math.max(ax, bx);
+        int endX = Math.min(ax + a.width, bx + b.width);
+        int startY = Math.max(ay, by);
+        int endY = Math.min(ay + a.height, by + b.height);
+        for(int y = startY; y < endY; y++) {
+            int rowA = (y - ay) * a.words;
+            int rowB = (y - by) * b.words;
+            for(int x = startX; x < endX; x += 64) {
+                long bits = a.bits(rowA, x - ax) & b.bits(rowB, x - bx);
+                // last word of the overlap may reach past it
+                if(endX - x < 64)
+                    bits &= (1L << (endX - x)) - 1;
+                if(bits != 0)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    // 64 pixels of a row starting at column
+    private long bits(int row, int column) {
+        int word = column >>> 6;
+        int shift = column & 63;
+        long bits = rows[row + word] >>> shift;
+        if(shift != 0 && word + 1 < words)
+            bits |= rows[row + word + 1] << (64 - shift);
+        return bits;
+    }
+
+}
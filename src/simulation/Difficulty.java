@@ -0,0 +1,32 @@
+package simulation;
+
+// knobs that decide how hard the game gets over time, DEFAULT is what the real game uses
+public class Difficulty {
+
+    public static final Difficulty DEFAULT = new Difficulty(-0.0002, 0.0001, -0.005, 250, 0.5);
+
+    // added to speed every tick
+    public final double difficultyInc;
+    // value by which chance of creating new enemy increasing
+    public final double percentageInc;
+    // added to distance between enemies every tick until it reaches minimumDistance
+    public final double distanceDec;
+    public final int minimumDistance;
+    // chance of a shield spawning when there is space for one
+    public final double shieldSpawnPercentage;
+
+    public Difficulty(double difficultyInc, double percentageInc, double distanceDec, int minimumDistance, double shieldSpawnPercentage) {
+        this.difficultyInc = difficultyInc;
+        this.percentageInc = percentageInc;
+        this.distanceDec = distanceDec;
+        this.minimumDistance = minimumDistance;
+        this.shieldSpawnPercentage = shieldSpawnPercentage;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("difficultyInc=%s percentageInc=%s distanceDec=%s minimumDistance=%d shieldSpawnPercentage=%s",
+                difficultyInc, percentageInc, distanceDec, minimumDistance, shieldSpawnPercentage);
+    }
+
+}
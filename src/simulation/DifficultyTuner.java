@@ -0,0 +1,107 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import util.Resource;
+
+// monte carlo sweep over difficulty settings, plays many bot games per setting on all cores
+// every list option is a comma separated set of values, the tuner tries every combination, e.g.
+// java -cp bin simulation.DifficultyTuner --games 500 --difficulty-inc -0.0001,-0.0002,-0.0004 --minimum-distance 200,250
+public class DifficultyTuner {
+
+    private int games = 200;
+    private double[] difficultyIncs = { Difficulty.DEFAULT.difficultyInc };
+    private double[] percentageIncs = { Difficulty.DEFAULT.percentageInc };
+    private double[] distanceDecs = { Difficulty.DEFAULT.distanceDec };
+    private double[] minimumDistances = { Difficulty.DEFAULT.minimumDistance };
+    private double[] shieldSpawnPercentages = { Difficulty.DEFAULT.shieldSpawnPercentage };
+    private int reactionTicks = HeadlessRunner.BOT_REACTION_TICKS;
+
+    private static double[] parseList(String list) {
+        return Arrays.stream(list.split(",")).mapToDouble(Double::parseDouble).toArray();
+    }
+
+    private void parse(String[] args) {
+        for(int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games":
+                    games = Integer.parseInt(args[++i]);
+                    break;
+                case "--difficulty-inc":
+                    difficultyIncs = parseList(args[++i]);
+                    break;
+                case "--percentage-inc":
+                    percentageIncs = parseList(args[++i]);
+                    break;
+                case "--distance-dec":
+                    distanceDecs = parseList(args[++i]);
+                    break;
+                case "--minimum-distance":
+                    minimumDistances = parseList(args[++i]);
+                    break;
+                case "--shield-spawn":
+                    shieldSpawnPercentages = parseList(args[++i]);
+                    break;
+                case "--reaction-ticks":
+                    reactionTicks = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+    }
+
+    private List<Difficulty> grid() {
+        List<Difficulty> grid = new ArrayList<Difficulty>();
+        for(double difficultyInc : difficultyIncs)
+            for(double percentageInc : percentageIncs)
+                for(double distanceDec : distanceDecs)
+                    for(double minimumDistance : minimumDistances)
+                        for(double shieldSpawnPercentage : shieldSpawnPercentages)
+                            grid.add(new Difficulty(difficultyInc, percentageInc, distanceDec, (int)minimumDistance, shieldSpawnPercentage));
+        return grid;
+    }
+
+    // survival in ticks of every game, game number is the seed so same settings always give same results
+    private long[] play(Difficulty difficulty) {
+        Bot bot = new Bot(reactionTicks);
+        return IntStream.range(0, games).parallel().mapToLong(seed -> {
+            Simulation simulation = new Simulation(SimulationListener.NONE, seed, difficulty);
+            return HeadlessRunner.playGame(simulation, bot);
+        }).sorted().toArray();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int)Math.min(sorted.length - 1, Math.floor(percentile / 100 * sorted.length))];
+    }
+
+    private void run() {
+        List<Difficulty> grid = grid();
+        System.out.printf("%d settings x %d games on %d cores%n", grid.size(), games, Runtime.getRuntime().availableProcessors());
+        System.out.println("survival in seconds: mean,p10,p50,p90,max | settings");
+        long totalTicks = 0;
+        long startTime = System.nanoTime();
+        for(Difficulty difficulty : grid) {
+            long[] ticks = play(difficulty);
+            double tps = Simulation.TICKS_PER_SECOND;
+            System.out.printf("%.1f,%.1f,%.1f,%.1f,%.1f | %s%n", Arrays.stream(ticks).average().orElse(0) / tps,
+                    percentile(ticks, 10) / tps, percentile(ticks, 50) / tps, percentile(ticks, 90) / tps,
+                    ticks[ticks.length - 1] / tps, difficulty);
+            totalTicks += Arrays.stream(ticks).sum();
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf("simulated %d ticks in %.2fs, %.0f ticks/s%n", totalTicks, seconds, totalTicks / seconds);
+    }
+
+    public static void main(String[] args) {
+        DifficultyTuner tuner = new DifficultyTuner();
+        tuner.parse(args);
+        // tuned against the same pixel exact collisions the game has
+        Resource.loadCollisionMasks();
+        tuner.run();
+    }
+
+}
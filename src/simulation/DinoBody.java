@@ -0,0 +1,253 @@
+package simulation;
+
+import static simulation.Simulation.GRAVITY;
+import static simulation.Simulation.GROUND_Y;
+import static simulation.Simulation.SPEED_Y;
+
+import misc.DinoState;
+
+// dino physics, jumping and shield state, drawing is done by game_object.Dino
+public class DinoBody {
+
+    public static final double X = 120;
+
+    // Shield configuration, in ticks
+    public static final int SHIELD_DURATION = 1000; // 10 seconds of invincibility
+    private static final int SHIELD_BLINK_START = 800; // Start blinking at 8 seconds (2 sec before end)
+    private static final int BLINK_INTERVAL = 10; // Blink every 100ms (Mario-style fast blinking)
+
+    private SimulationListener listener;
+
+    private double maxY;
+    private double highJumpMaxY;
+    private double lowJumpMaxY;
+
+    private double y = 0;
+    // y on previous tick, for interpolated drawing
+    private double prevY = 0;
+    private double speedY = 0;
+
+    private DinoState dinoState;
+    private Animation dinoRun;
+    private Animation dinoDownRun;
+
+    // Shield state variables
+    private boolean hasShield = false;
+    private int shieldTicks = 0;
+    private boolean shieldVisible = true; // For blinking effect
+
+    public DinoBody(SimulationListener listener) {
+        this.listener = listener;
+        dinoRun = new Animation(15);
+        dinoRun.addSprite(Sprite.DINO_RUN_1);
+        dinoRun.addSprite(Sprite.DINO_RUN_2);
+        dinoDownRun = new Animation(15);
+        dinoDownRun.addSprite(Sprite.DINO_DOWN_RUN_1);
+        dinoDownRun.addSprite(Sprite.DINO_DOWN_RUN_2);
+        y = GROUND_Y - Sprite.DINO_JUMP.getHeight();
+        maxY = y;
+        highJumpMaxY = setJumpMaxY(GRAVITY);
+        lowJumpMaxY = setJumpMaxY(GRAVITY + GRAVITY / 2);
+        prevY = y;
+        dinoState = DinoState.DINO_JUMP;
+    }
+
+    public DinoState getDinoState() {
+        return dinoState;
+    }
+
+    public void setDinoState(DinoState dinoState) {
+        this.dinoState = dinoState;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getPrevY() {
+        return prevY;
+    }
+
+    // sprite matching current state and animation frame
+    public Sprite getSprite() {
+        switch (dinoState) {
+            case DINO_RUN:
+                return dinoRun.getSprite();
+            case DINO_DOWN_RUN:
+                return dinoDownRun.getSprite();
+            case DINO_DEAD:
+                return Sprite.DINO_DEAD;
+            default:
+                return Sprite.DINO_JUMP;
+        }
+    }
+
+    public boolean hasShield() {
+        return hasShield;
+    }
+
+    public boolean isShieldVisible() {
+        return shieldVisible;
+    }
+
+    // ticks since shield was picked up
+    public int getShieldTicks() {
+        return shieldTicks;
+    }
+
+    public void activateShield() {
+        hasShield = true;
+        shieldTicks = 0;
+        shieldVisible = true;
+        listener.onEvent(GameEvent.SHIELD_EQUIP);
+    }
+
+    public void deactivateShield() {
+        hasShield = false;
+        shieldVisible = true;
+    }
+
+    public void popShield() {
+        if(hasShield) {
+            hasShield = false;
+            shieldVisible = true;
+            listener.onEvent(GameEvent.SHIELD_POP);
+        }
+    }
+
+    private void updateShield() {
+        if(hasShield) {
+            shieldTicks++;
+
+            // Check if shield should expire
+            if(shieldTicks >= SHIELD_DURATION) {
+                popShield(); // Pop sound when time runs out
+            }
+            // Start blinking effect when shield is about to expire
+            else if(shieldTicks >= SHIELD_BLINK_START) {
+                // Toggle visibility for blinking effect
+                shieldVisible = (shieldTicks / BLINK_INTERVAL) % 2 == 0;
+            }
+            else {
+                shieldVisible = true;
+            }
+        }
+    }
+
+    public double setJumpMaxY(double gravity) {
+        speedY = SPEED_Y;
+        y += speedY;
+        double jumpMaxY = y;
+        while(true) {
+            speedY += gravity;
+            y += speedY;
+            if(y < jumpMaxY)
+                jumpMaxY = y;
+            if(y + speedY >= GROUND_Y - dinoRun.getSprite().getHeight()) {
+                speedY = 0;
+                y = GROUND_Y - dinoRun.getSprite().getHeight();
+                break;
+            }
+        }
+        return jumpMaxY;
+    }
+
+    // hitbox of the current sprite, see Sprite
+    public int getHitboxX() {
+        return (int)X + getSprite().getHitboxX();
+    }
+
+    public int getHitboxY() {
+        return (int)y + getSprite().getHitboxY();
+    }
+
+    public int getHitboxWidth() {
+        return getSprite().getHitboxWidth();
+    }
+
+    public int getHitboxHeight() {
+        return getSprite().getHitboxHeight();
+    }
+
+    public void updatePosition(int input) {
+        prevY = y;
+        if(y < maxY)
+            maxY = y;
+        dinoRun.updateSprite();
+        dinoDownRun.updateSprite();
+        updateShield(); // Update shield state
+
+        switch (dinoState) {
+            case DINO_RUN:
+                y = GROUND_Y - dinoRun.getSprite().getHeight();
+                maxY = y;
+                break;
+            case DINO_DOWN_RUN:
+                y = GROUND_Y - dinoDownRun.getSprite().getHeight();
+                break;
+            case DINO_JUMP:
+                if(y + speedY >= GROUND_Y - dinoRun.getSprite().getHeight()) {
+                    speedY = 0;
+                    y = GROUND_Y - dinoRun.getSprite().getHeight();
+                    dinoState = DinoState.DINO_RUN;
+                } else if(Input.has(input, Input.UP)) {
+                    // key let go partway through the tick, gravity is mixed by how long it was still held
+                    // so jump height follows the exact press duration and not just whole ticks
+                    double released = Input.upReleasedFraction(input);
+                    if(released == 0)
+                        speedY += GRAVITY;
+                    else
+                        speedY += GRAVITY * (1 - released) + releasedGravity(input) * released;
+                    y += speedY;
+                } else {
+                    if(maxY <= lowJumpMaxY - (lowJumpMaxY - highJumpMaxY) / 2)
+                        speedY += GRAVITY;
+                    else
+                        speedY += GRAVITY + GRAVITY / 2;
+                    if(Input.has(input, Input.DOWN))
+                        speedY += GRAVITY;
+                    y += speedY;
+                }
+                break;
+            default:
+                break;
+        }
+
+    }
+
+    // same gravity as a tick without the jump key, falls faster when jump key is not held and even faster holding down
+    private double releasedGravity(int input) {
+        double gravity;
+        if(maxY <= lowJumpMaxY - (lowJumpMaxY - highJumpMaxY) / 2)
+            gravity = GRAVITY;
+        else
+            gravity = GRAVITY + GRAVITY / 2;
+        if(Input.has(input, Input.DOWN))
+            gravity += GRAVITY;
+        return gravity;
+    }
+
+    public void jump() {
+        if(y == GROUND_Y - dinoRun.getSprite().getHeight()) {
+            listener.onEvent(GameEvent.JUMP);
+            speedY = SPEED_Y;
+            y += speedY;
+        }
+    }
+
+    public void resetDino() {
+        y = GROUND_Y - Sprite.DINO_JUMP.getHeight();
+        prevY = y;
+        dinoState = DinoState.DINO_RUN;
+        deactivateShield(); // Remove shield on reset
+    }
+
+    public void dinoGameOver() {
+        if(y > GROUND_Y - Sprite.DINO_DEAD.getHeight())
+            y = GROUND_Y - Sprite.DINO_DEAD.getHeight();
+        prevY = y;
+        dinoState = DinoState.DINO_DEAD;
+        deactivateShield(); // Remove shield on game over
+    }
+
+}
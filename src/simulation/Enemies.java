@@ -0,0 +1,174 @@
+package simulation;
+
+import static simulation.Simulation.GROUND_Y;
+import static simulation.Simulation.SCREEN_WIDTH;
+
+import java.util.Random;
+
+import misc.EnemyType;
+import util.SpawnEvent;
+
+// cactuses and birds, spawning and collisions, drawing is done by manager.EnemyManager
+// both live in one EntityStore, told apart by its type column
+public class Enemies {
+
+    // max number of cactuses grouped
+    private static final int MAX_CACTUS_GROUP = 3;
+
+    // value to check current sprite
+    private static final int WINGS_DOWN_HEIGHT = Sprite.BIRD_FLY_1.getHeight();
+    // ticks between wing flaps
+    private static final int BIRD_FLAP_TICKS = 40;
+    // values() hands out a new array on every call
+    private static final EnemyType[] ENEMY_TYPES = EnemyType.values();
+
+    private double distanceBetweenEnemies = 750;
+    private double cactusesPercentage = 2;
+    private double birdsPercentage = 1;
+
+    private Random random;
+    private Difficulty difficulty;
+    private EntityStore entities;
+    private SweepAndPrune broadPhase = new SweepAndPrune();
+    // broad phase is sorted again on the first check after entities changed
+    private boolean sorted = false;
+
+    public Enemies(Random random, Difficulty difficulty) {
+        this.random = random;
+        this.difficulty = difficulty;
+        entities = new EntityStore();
+    }
+
+    public EntityStore getEntities() {
+        return entities;
+    }
+
+    public void updatePosition(double speedX) {
+        cactusesPercentage += difficulty.percentageInc;
+        birdsPercentage += difficulty.percentageInc;
+        if(distanceBetweenEnemies > difficulty.minimumDistance)
+            distanceBetweenEnemies += difficulty.distanceDec;
+        updateEntities(speedX);
+        sorted = false;
+
+        if(spaceAvailable()) {
+            // "randomly" choosing new enemy type
+            switch (ENEMY_TYPES[random.nextInt(ENEMY_TYPES.length)]) {
+                case CACTUS:
+                    if(createCactuses())
+                        break;
+                case BIRD:
+                    if(createBird())
+                        break;
+                default:
+                    createCactuses();
+                    break;
+            }
+        }
+    }
+
+    // one pass over both kinds, whatever left the screen is dropped on the way
+    private void updateEntities(double speedX) {
+        EntityStore e = entities;
+        int kept = 0;
+        for(int i = 0; i < e.size(); i++) {
+            e.prevX[i] = e.x[i];
+            if(e.type[i] == EntityStore.CACTUS) {
+                e.x[i] += Math.round(speedX * 100d) / 100d;
+            } else {
+                // to make birds a bit faster
+                e.x[i] += (speedX + speedX / 5);
+                e.age[i]++;
+                if(e.age[i] % BIRD_FLAP_TICKS == 0)
+                    e.setSprite(i, e.age[i] / BIRD_FLAP_TICKS % 2 == 0 ? Sprite.BIRD_FLY_1 : Sprite.BIRD_FLY_2);
+            }
+            if((int)e.x[i] + e.width[i] < 0)
+                continue;
+            if(kept != i)
+                e.move(i, kept);
+            kept++;
+        }
+        e.truncate(kept);
+    }
+
+    private boolean spaceAvailable() {
+        EntityStore e = entities;
+        for(int i = 0; i < e.size(); i++) {
+            if(SCREEN_WIDTH - (e.x[i] + e.width[i]) < distanceBetweenEnemies) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean createCactuses() {
+        if(random.nextDouble() * 100 < cactusesPercentage) {
+            // random number of cactuses in a group
+            int numberOfCactuses = random.nextInt(MAX_CACTUS_GROUP) + 1;
+            for(int i = 0; i < numberOfCactuses; i++) {
+                Sprite sprite = Sprite.cactus(random.nextInt(Sprite.cactusCount()) + 1);
+                int x = SCREEN_WIDTH;
+                int y = GROUND_Y - sprite.getHeight();
+                // if it is first cactus of this group x is SCREEN_WIDTH
+                // if it is second or third than i take last cactus and its width to calculate x position
+                if(i > 0)
+                    x = (int)entities.x[entities.size() - 1] + entities.width[entities.size() - 1];
+                addCactus(sprite, x, y);
+            }
+            SpawnEvent.emit("cactus", numberOfCactuses, GROUND_Y);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean createBird() {
+        if(random.nextDouble() * 100 < birdsPercentage) {
+            int y = random.nextInt(GROUND_Y - Sprite.BIRD_FLY_1.getHeight());
+            addBird(SCREEN_WIDTH, y);
+            SpawnEvent.emit("bird", 1, y);
+            return true;
+        }
+        return false;
+    }
+
+    private void addCactus(Sprite sprite, double x, int y) {
+        sorted = false;
+        entities.add(EntityStore.CACTUS, sprite, x, y, sprite.getWidth(), sprite.getHeight(), 0);
+    }
+
+    // wings down first
+    private void addBird(double x, int y) {
+        sorted = false;
+        entities.add(EntityStore.BIRD, Sprite.BIRD_FLY_1, x, y, Sprite.BIRD_FLY_1.getWidth(), Sprite.BIRD_FLY_1.getHeight(), 0);
+    }
+
+    // puts an enemy straight on screen, for benchmarks and stress tests
+    public void spawnCactus(Sprite sprite, double x) {
+        addCactus(sprite, x, GROUND_Y - sprite.getHeight());
+    }
+
+    public void spawnBird(double x, int y) {
+        addBird(x, y);
+    }
+
+    // dino sprite moving from (prevX, prevY) to (x, y) this tick, only enemies around it are looked at
+    // and nothing is allocated
+    public boolean isCollision(Sprite sprite, int prevX, int prevY, int x, int y) {
+        if(!sorted) {
+            broadPhase.update(entities);
+            sorted = true;
+        }
+        return broadPhase.findOverlapping(entities, sprite, prevX, prevY, x, y) >= 0;
+    }
+
+    // sprite with wings up is shorter than the one with wings down
+    public boolean isWingsUp(int index) {
+        return entities.height[index] < WINGS_DOWN_HEIGHT;
+    }
+
+    public void clearEnemy() {
+        entities.clear();
+        sorted = false;
+    }
+
+}
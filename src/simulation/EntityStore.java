@@ -0,0 +1,183 @@
+package simulation;
+
+import java.util.Arrays;
+
+// obstacles, pickups and scenery as parallel primitive arrays, one row per entity, like FrameSnapshot.Layer
+// rows stay in spawn order because the checksum, the bot and cactus groups depend on it, so removing compacts
+// the rows behind it instead of swapping the last row in, loops that drop rows do it in the same pass
+public class EntityStore {
+
+    public static final int CACTUS = 0;
+    public static final int BIRD = 1;
+    public static final int SHIELD = 2;
+    public static final int CLOUD = 3;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Sprite[] SPRITES = Sprite.values();
+
+    private int count = 0;
+    private long nextId = 0;
+    // goes up with every add and is never reused, so ids rise with the row like spawn order does
+    public long[] id = new long[INITIAL_CAPACITY];
+    public int[] type = new int[INITIAL_CAPACITY];
+    // Sprite ordinal, -1 for things without one
+    public int[] sprite = new int[INITIAL_CAPACITY];
+    public double[] prevX = new double[INITIAL_CAPACITY];
+    public double[] x = new double[INITIAL_CAPACITY];
+    public int[] y = new int[INITIAL_CAPACITY];
+    // moves the sprite and its hitbox off y without changing y, the shield bob
+    public int[] offsetY = new int[INITIAL_CAPACITY];
+    public int[] width = new int[INITIAL_CAPACITY];
+    public int[] height = new int[INITIAL_CAPACITY];
+    public long[] spawnTick = new long[INITIAL_CAPACITY];
+    // ticks it has been updated for, drives animations
+    public int[] age = new int[INITIAL_CAPACITY];
+
+    public int size() {
+        return count;
+    }
+
+    public Sprite getSprite(int index) {
+        return sprite[index] < 0 ? null : SPRITES[sprite[index]];
+    }
+
+    // hitbox of a row from its sprite, rows without a sprite have none
+    public int getHitboxX(int index) {
+        return (int)x[index] + SPRITES[sprite[index]].getHitboxX();
+    }
+
+    public int getHitboxY(int index) {
+        return y[index] + offsetY[index] + SPRITES[sprite[index]].getHitboxY();
+    }
+
+    public int getHitboxWidth(int index) {
+        return SPRITES[sprite[index]].getHitboxWidth();
+    }
+
+    public int getHitboxHeight(int index) {
+        return SPRITES[sprite[index]].getHitboxHeight();
+    }
+
+    // box covering the hitbox all the way from prevX to x, for the broad phase
+    public int getSweptHitboxX(int index) {
+        return Math.min((int)prevX[index], (int)x[index]) + SPRITES[sprite[index]].getHitboxX();
+    }
+
+    public int getSweptHitboxWidth(int index) {
+        return Math.abs((int)x[index] - (int)prevX[index]) + SPRITES[sprite[index]].getHitboxWidth();
+    }
+
+    // other moved from (prevX, prevY) to (x, y) during the tick this row moved from prevX to x, true when they touched
+    // anywhere on the way and not just where both ended up, so nothing fast can pass through the other
+    // the motion is followed a pixel at a time, but only when the boxes around both paths overlap at all
+    public boolean overlaps(int index, Sprite other, int prevX, int prevY, int x, int y) {
+        Sprite own = SPRITES[sprite[index]];
+        if(!Hitbox.intersects(getSweptHitboxX(index), getHitboxY(index), getSweptHitboxWidth(index), own.getHitboxHeight(),
+                Math.min(prevX, x) + other.getHitboxX(), Math.min(prevY, y) + other.getHitboxY(),
+                Math.abs(x - prevX) + other.getHitboxWidth(), Math.abs(y - prevY) + other.getHitboxHeight()))
+            return false;
+        int startX = (int)this.prevX[index];
+        int moveX = (int)this.x[index] - startX;
+        int ownY = this.y[index] + offsetY[index];
+        // where they were at the start of the tick was checked the tick before
+        int steps = Math.max(1, Math.max(Math.abs(moveX - (x - prevX)), Math.abs(y - prevY)));
+        for(int step = 1; step <= steps; step++) {
+            if(touches(own, startX + moveX * step / steps, ownY,
+                    other, prevX + (x - prevX) * step / steps, prevY + (y - prevY) * step / steps))
+                return true;
+        }
+        return false;
+    }
+
+    // both sprites drawn at the given places, hitboxes overlap and so do their solid pixels if both have a mask
+    private static boolean touches(Sprite own, int ownX, int ownY, Sprite other, int x, int y) {
+        if(!Hitbox.intersects(ownX + own.getHitboxX(), ownY + own.getHitboxY(), own.getHitboxWidth(), own.getHitboxHeight(),
+                x + other.getHitboxX(), y + other.getHitboxY(), other.getHitboxWidth(), other.getHitboxHeight()))
+            return false;
+        if(own.getMask() == null || other.getMask() == null)
+            return true;
+        return CollisionMask.overlaps(own.getMask(), ownX, ownY + own.getDrawOffsetY(), other.getMask(), x, y + other.getDrawOffsetY());
+    }
+
+    // index of the new row, arrays grow by doubling so a steady game stops allocating
+    public int add(int type, Sprite sprite, double x, int y, int width, int height, long spawnTick) {
+        if(count == this.x.length)
+            grow();
+        id[count] = nextId++;
+        this.type[count] = type;
+        this.sprite[count] = sprite == null ? -1 : sprite.ordinal();
+        this.prevX[count] = x;
+        this.x[count] = x;
+        this.y[count] = y;
+        offsetY[count] = 0;
+        this.width[count] = width;
+        this.height[count] = height;
+        this.spawnTick[count] = spawnTick;
+        age[count] = 0;
+        return count++;
+    }
+
+    public void setSprite(int index, Sprite sprite) {
+        this.sprite[index] = sprite.ordinal();
+        width[index] = sprite.getWidth();
+        height[index] = sprite.getHeight();
+    }
+
+    // removes one row, the ones behind it move up
+    public void remove(int index) {
+        int moved = count - index - 1;
+        if(moved > 0) {
+            System.arraycopy(id, index + 1, id, index, moved);
+            System.arraycopy(type, index + 1, type, index, moved);
+            System.arraycopy(sprite, index + 1, sprite, index, moved);
+            System.arraycopy(prevX, index + 1, prevX, index, moved);
+            System.arraycopy(x, index + 1, x, index, moved);
+            System.arraycopy(y, index + 1, y, index, moved);
+            System.arraycopy(offsetY, index + 1, offsetY, index, moved);
+            System.arraycopy(width, index + 1, width, index, moved);
+            System.arraycopy(height, index + 1, height, index, moved);
+            System.arraycopy(spawnTick, index + 1, spawnTick, index, moved);
+            System.arraycopy(age, index + 1, age, index, moved);
+        }
+        count--;
+    }
+
+    // for loops dropping rows as they go: every kept row is moved down to the next free index, then truncate
+    public void move(int from, int to) {
+        id[to] = id[from];
+        type[to] = type[from];
+        sprite[to] = sprite[from];
+        prevX[to] = prevX[from];
+        x[to] = x[from];
+        y[to] = y[from];
+        offsetY[to] = offsetY[from];
+        width[to] = width[from];
+        height[to] = height[from];
+        spawnTick[to] = spawnTick[from];
+        age[to] = age[from];
+    }
+
+    public void truncate(int newCount) {
+        count = newCount;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        id = Arrays.copyOf(id, capacity);
+        type = Arrays.copyOf(type, capacity);
+        sprite = Arrays.copyOf(sprite, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        offsetY = Arrays.copyOf(offsetY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        spawnTick = Arrays.copyOf(spawnTick, capacity);
+        age = Arrays.copyOf(age, capacity);
+    }
+
+}
@@ -0,0 +1,8 @@
+package simulation;
+
+// things that happened during a tick which the outside world (sound, score file, scenery) cares about
+public enum GameEvent {
+
+    JUMP, SCORE_UP, SHIELD_EQUIP, SHIELD_POP, GAME_OVER, RESTART, RAIN_START, RAIN_STOP, PAUSE, RESUME;
+
+}
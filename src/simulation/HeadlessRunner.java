@@ -0,0 +1,94 @@
+package simulation;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+import misc.GameState;
+import util.Resource;
+
+// plays games without a window as fast as possible, e.g.
+// java -Djava.awt.headless=true -cp bin simulation.HeadlessRunner 100
+// or checks that a recording made with --record replays to the same end state
+// java -Djava.awt.headless=true -cp bin simulation.HeadlessRunner --replay run.rec
+// or checks that ticks allocate nothing once warmed up, exits with 1 if they do
+// java -Djava.awt.headless=true -cp bin simulation.HeadlessRunner --check-allocations
+public class HeadlessRunner {
+
+    // stop a game that somehow never ends
+    public static final int MAX_TICKS = 1_000_000;
+    // reaction time that plays reasonably well at default difficulty
+    public static final int BOT_REACTION_TICKS = 16;
+    // ticks measured by --check-allocations, after five times as many to warm up
+    public static final int ALLOCATION_CHECK_TICKS = 10_000;
+
+    // plays one game from the start screen until the dino dies, returns ticks survived
+    public static long playGame(Simulation simulation, Bot bot) {
+        simulation.tick(Input.UP_RELEASED);
+        while(simulation.getGameState() != GameState.GAME_STATE_OVER && simulation.getTick() < MAX_TICKS)
+            simulation.tick(bot.input(simulation));
+        return simulation.getTick();
+    }
+
+    // feeds every recorded tick into a fresh simulation, returns true if it ends where the recording did
+    public static boolean verifyReplay(InputRecording recording) {
+        Simulation simulation = new Simulation(SimulationListener.NONE, recording.getSeed());
+        while(recording.hasNext())
+            simulation.tick(recording.next());
+        System.out.printf("seed=%d ticks=%d score=%d checksum=%x expected=%x%n", recording.getSeed(), simulation.getTick(),
+                simulation.getScore(), simulation.checksum(), recording.getEndChecksum());
+        return simulation.getTick() == recording.getEndTick() && simulation.checksum() == recording.getEndChecksum();
+    }
+
+    // bytes the game thread allocates over ticks of bot play once the jit compiled the tick and the stores grew to
+    // what a game needs, a game over restarts right away so collisions and spawning keep running the whole time
+    public static long measureAllocations(int ticks) {
+        ThreadMXBean threads = (ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Simulation simulation = new Simulation(SimulationListener.NONE, 0);
+        Bot bot = new Bot(BOT_REACTION_TICKS);
+        for(int i = 0; i < ticks * 5; i++)
+            tickOrRestart(simulation, bot);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for(int i = 0; i < ticks; i++)
+            tickOrRestart(simulation, bot);
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private static void tickOrRestart(Simulation simulation, Bot bot) {
+        GameState state = simulation.getGameState();
+        simulation.tick(state == GameState.GAME_STATE_IN_PROGRESS ? bot.input(simulation) : Input.UP_RELEASED);
+    }
+
+    public static void main(String[] args) throws IOException {
+        // same pixel exact collisions as the game, or replays wouldn't match
+        Resource.loadCollisionMasks();
+        if(args.length == 2 && args[0].equals("--replay")) {
+            boolean matches = verifyReplay(InputRecording.load(new File(args[1])));
+            System.out.println(matches ? "Replay matches recording" : "Replay DOES NOT match recording");
+            System.exit(matches ? 0 : 1);
+        }
+        if(args.length == 1 && args[0].equals("--check-allocations")) {
+            long bytes = measureAllocations(ALLOCATION_CHECK_TICKS);
+            System.out.println(bytes + " bytes allocated in " + ALLOCATION_CHECK_TICKS + " ticks");
+            System.exit(bytes == 0 ? 0 : 1);
+        }
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        long totalTicks = 0;
+        long totalScore = 0;
+        Bot bot = new Bot(BOT_REACTION_TICKS);
+        long startTime = System.nanoTime();
+        for(int i = 0; i < games; i++) {
+            // game number as seed, so any game of the batch can be looked at again
+            Simulation simulation = new Simulation(SimulationListener.NONE, i);
+            totalTicks += playGame(simulation, bot);
+            totalScore += simulation.getScore();
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf("games=%d ticks=%d avg_score=%.1f time=%.2fs ticks/s=%.0f (%.0fx real time)%n", games, totalTicks,
+                (double)totalScore / games, seconds, totalTicks / seconds, totalTicks / seconds / Simulation.TICKS_PER_SECOND);
+    }
+
+}
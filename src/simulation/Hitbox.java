@@ -0,0 +1,19 @@
+package simulation;
+
+// rectangle checks for collisions on plain ints, java.awt.Rectangle would drag AWT into the simulation
+// and a box object per check was most of the garbage made every tick
+public final class Hitbox {
+
+    private Hitbox() {
+    }
+
+    // same rules as Rectangle.intersects, empty boxes never intersect
+    public static boolean intersects(int x, int y, int width, int height,
+            int otherX, int otherY, int otherWidth, int otherHeight) {
+        if(width <= 0 || height <= 0 || otherWidth <= 0 || otherHeight <= 0)
+            return false;
+        return x < otherX + otherWidth && otherX < x + width
+                && y < otherY + otherHeight && otherY < y + height;
+    }
+
+}
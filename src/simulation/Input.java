@@ -0,0 +1,36 @@
+package simulation;
+
+// input for a single tick packed in an int, held keys plus key events that happened since last tick
+public final class Input {
+
+    public static final int NONE = 0;
+    // keys currently held
+    public static final int UP = 1;
+    public static final int DOWN = 1 << 1;
+    // key events
+    public static final int UP_RELEASED = 1 << 2;
+    public static final int DOWN_RELEASED = 1 << 3;
+    public static final int PAUSE = 1 << 4;
+    public static final int DEBUG = 1 << 5;
+    // how much of the tick UP was already let go, in 1/256ths, 0 when it was held the whole tick
+    // set together with UP when the key is released (or tapped) partway through a tick
+    private static final int UP_RELEASED_PART_SHIFT = 8;
+    public static final int PARTS_PER_TICK = 256;
+
+    private Input() {
+    }
+
+    public static int withUpReleasedPart(int input, int part) {
+        return input | (Math.min(Math.max(part, 0), PARTS_PER_TICK - 1) << UP_RELEASED_PART_SHIFT);
+    }
+
+    // 0..1
+    public static double upReleasedFraction(int input) {
+        return (double)((input >>> UP_RELEASED_PART_SHIFT) & (PARTS_PER_TICK - 1)) / PARTS_PER_TICK;
+    }
+
+    public static boolean has(int input, int flag) {
+        return (input & flag) != 0;
+    }
+
+}
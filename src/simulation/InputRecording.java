@@ -0,0 +1,139 @@
+package simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+// seed plus input of every tick, enough to replay a run exactly
+// inputs are stored run length encoded, a held key or no key at all for seconds is a single entry
+public class InputRecording {
+
+    private static final int MAGIC = 0x44494E4F; // "DINO"
+    // 1 stored inputs as single bytes, 2 as varints since inputs carry sub tick release timing
+    // 3 is the same format as 2 after pixel exact, swept collisions and off screen birds being dropped changed how
+    // runs play out, older ones would only replay into a mismatch
+    private static final int VERSION = 3;
+
+    private final long seed;
+    // pairs of (input, how many ticks in a row)
+    private int[] runs = new int[64];
+    private int runsLength = 0;
+    private long ticks = 0;
+    // state at the end of the recording, replays compare against it
+    private long endTick = -1;
+    private long endChecksum = 0;
+
+    // position when playing back
+    private int playRun = 0;
+    private int playedInRun = 0;
+
+    public InputRecording(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getEndTick() {
+        return endTick;
+    }
+
+    public long getEndChecksum() {
+        return endChecksum;
+    }
+
+    public void record(int input) {
+        if(runsLength > 0 && runs[runsLength - 2] == input) {
+            runs[runsLength - 1]++;
+        } else {
+            if(runsLength == runs.length)
+                runs = Arrays.copyOf(runs, runs.length * 2);
+            runs[runsLength++] = input;
+            runs[runsLength++] = 1;
+        }
+        ticks++;
+    }
+
+    public boolean hasNext() {
+        return playRun < runsLength;
+    }
+
+    // input for the next tick when playing back
+    public int next() {
+        int input = runs[playRun];
+        playedInRun++;
+        if(playedInRun == runs[playRun + 1]) {
+            playRun += 2;
+            playedInRun = 0;
+        }
+        return input;
+    }
+
+    // simulation should be the one that got all the recorded input, its state is saved to verify replays
+    public void save(File file, Simulation simulation) throws IOException {
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeLong(simulation.getTick());
+            out.writeLong(simulation.checksum());
+            out.writeInt(runsLength / 2);
+            for(int i = 0; i < runsLength; i += 2) {
+                writeVarInt(out, runs[i]);
+                writeVarInt(out, runs[i + 1]);
+            }
+        }
+    }
+
+    public static InputRecording load(File file) throws IOException {
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int version = 0;
+            if(in.readInt() != MAGIC || (version = in.readInt()) < 1 || version > VERSION)
+                throw new IOException("Not a recording: " + file);
+            if(version < VERSION)
+                throw new IOException("Recording made with older game rules (version " + version + ", now " + VERSION + "): " + file);
+            InputRecording recording = new InputRecording(in.readLong());
+            recording.endTick = in.readLong();
+            recording.endChecksum = in.readLong();
+            int runCount = in.readInt();
+            recording.runs = new int[Math.max(runCount * 2, 2)];
+            for(int i = 0; i < runCount; i++) {
+                recording.runs[recording.runsLength++] = readVarInt(in);
+                int length = readVarInt(in);
+                recording.runs[recording.runsLength++] = length;
+                recording.ticks += length;
+            }
+            return recording;
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for(int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0)
+                return value;
+        }
+    }
+
+}
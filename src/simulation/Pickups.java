@@ -0,0 +1,110 @@
+package simulation;
+
+import static simulation.Simulation.GROUND_Y;
+import static simulation.Simulation.SCREEN_WIDTH;
+
+import java.util.Random;
+
+import util.SpawnEvent;
+
+// shield power ups lying on the ground, drawing is done by manager.ShieldManager
+public class Pickups {
+
+    // Shield spawn configuration
+    private static final int MINIMUM_DISTANCE_BETWEEN_SHIELDS = 2000; // Shields spawn far apart
+    private static final int MINIMUM_SCORE_FOR_SHIELD = 300; // Shields only appear after score 500
+
+    // Shield is drawn at 25% size (much smaller, similar to cactus)
+    public static final int SHIELD_WIDTH = Sprite.SHIELD.getWidth() / 4;
+    public static final int SHIELD_HEIGHT = Sprite.SHIELD.getHeight() / 4;
+
+    // Shield will hover at this height above ground
+    private static final int HOVER_HEIGHT = 0;
+    // Slight bobbing animation range (in pixels)
+    private static final int BOB_RANGE = 5;
+    // Bobbing animation speed, per tick
+    private static final double BOB_SPEED = 0.03;
+
+    private double distanceBetweenShields = MINIMUM_DISTANCE_BETWEEN_SHIELDS;
+    private double shieldSpawnPercentage;
+
+    private Random random;
+    private EntityStore shields;
+    private SweepAndPrune broadPhase = new SweepAndPrune();
+
+    public Pickups(Random random, Difficulty difficulty) {
+        this.random = random;
+        shieldSpawnPercentage = difficulty.shieldSpawnPercentage; // Low spawn rate for rarity
+        shields = new EntityStore();
+    }
+
+    public EntityStore getShields() {
+        return shields;
+    }
+
+    public void updatePosition(double speedX, int score, boolean dinoHasShield, long tick) {
+        EntityStore e = shields;
+        int kept = 0;
+        for(int i = 0; i < e.size(); i++) {
+            e.prevX[i] = e.x[i];
+            e.x[i] += speedX;
+            // Remove shields that go off screen
+            if((int)e.x[i] + Sprite.SHIELD.getWidth() < 0)
+                continue;
+            // once per tick here, the hitbox just reads it
+            e.offsetY[i] = getBobOffset(i, tick);
+            if(kept != i)
+                e.move(i, kept);
+            kept++;
+        }
+        e.truncate(kept);
+        // Only spawn shield if:
+        // 1. Space is available
+        // 2. Player doesn't have a shield
+        // 3. Score is at least 500
+        if(spaceAvailable() && !dinoHasShield && score >= MINIMUM_SCORE_FOR_SHIELD) {
+            createShield(tick);
+        }
+    }
+
+    private boolean spaceAvailable() {
+        for(int i = 0; i < shields.size(); i++) {
+            if(SCREEN_WIDTH - (shields.x[i] + SHIELD_WIDTH) < distanceBetweenShields) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean createShield(long tick) {
+        if(random.nextDouble() * 100 < shieldSpawnPercentage) {
+            int yPos = GROUND_Y - HOVER_HEIGHT - SHIELD_HEIGHT;
+            shields.add(EntityStore.SHIELD, Sprite.SHIELD, SCREEN_WIDTH, yPos, SHIELD_WIDTH, SHIELD_HEIGHT, tick);
+            SpawnEvent.emit("shield", 1, yPos);
+            return true;
+        }
+        return false;
+    }
+
+    // dino sprite moving from (prevX, prevY) to (x, y) this tick, the bob is small enough to not count as moving
+    // shields are checked once per tick right after moving, so the broad phase is sorted every time
+    public boolean checkCollection(Sprite sprite, int prevX, int prevY, int x, int y) {
+        broadPhase.update(shields);
+        int shield = broadPhase.findOverlapping(shields, sprite, prevX, prevY, x, y);
+        if(shield < 0)
+            return false;
+        shields.remove(shield);
+        return true;
+    }
+
+    // Calculate bobbing offset based on ticks since spawn
+    // StrictMath because it ends up in the hitbox and Math.sin may differ between machines
+    public int getBobOffset(int index, long tick) {
+        return (int)(StrictMath.sin((tick - shields.spawnTick[index]) * BOB_SPEED) * BOB_RANGE);
+    }
+
+    public void clearShields() {
+        shields.clear();
+    }
+
+}
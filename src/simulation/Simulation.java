@@ -0,0 +1,340 @@
+package simulation;
+
+import java.util.Random;
+
+import misc.DinoState;
+import misc.GameState;
+import util.FrameProfiler;
+import util.FrameProfiler.Phase;
+
+// all the game rules, no AWT or sound in here so it can run headless and as fast as the cpu allows
+// GameScreen feeds it input every tick and draws whatever state it ends up in
+public class Simulation {
+
+    // simulation always runs at 100 ticks per second, all the physics constants are tuned for it
+    public static final int TICKS_PER_SECOND = 100;
+
+    public static final int SCREEN_WIDTH = 1200;
+    public static final int SCREEN_HEIGHT = 300;
+
+    private static final int STARTING_SPEED_X = -5;
+
+    public static final double GRAVITY = 0.4;
+    public static final int GROUND_Y = 280;
+    public static final double SPEED_Y = -12;
+
+    // value by which score is increasing
+    private static final double SCORE_INC = 0.1;
+
+    // little pause to not start new game if you are spamming your keys
+    private static final int RESTART_DELAY = 100;
+
+    // Invincibility frames after shield pops
+    private static final int INVINCIBILITY_DURATION = 30; // 0.3 seconds at 100 FPS
+
+    // Rain configuration - appears every 1000 points after 500
+    private static final int RAIN_FIRST_SCORE = 500;
+    private static final int RAIN_INTERVAL = 1000;
+    private static final int RAIN_DURATION = 3000; // 30 seconds (3000 frames at 100 FPS)
+
+    // scenery gets its own random stream so drawing or not drawing it never changes the game
+    private static final long SCENERY_SEED = 0x5CE4E27L;
+
+    private final long seed;
+    // the only source of randomness in the game, same seed and same input always give the same run
+    private Random random;
+    private Difficulty difficulty;
+    private SimulationListener listener;
+    private DinoBody dino;
+    private Enemies enemies;
+    private Pickups pickups;
+    // null unless someone wants per subsystem timings, headless runs skip the clock reads
+    private FrameProfiler profiler;
+
+    private long tick = 0;
+    // where the dino's feet were when the tick started, collisions sweep from there
+    // following the feet and not the top means ducking or standing up isn't a movement
+    private int dinoStartBottom = 0;
+    private double speedX = STARTING_SPEED_X;
+    private GameState gameState = GameState.GAME_STATE_START;
+    private int introCountdown = 1000;
+    private boolean introJump = true;
+    private boolean collisions = true;
+    private double score = 0;
+    private int invincibilityFrames = 0;
+    private int gameOverTicks = 0;
+    private boolean raining = false;
+    private int rainTimer = 0;
+    private int nextRainScore = RAIN_FIRST_SCORE;
+
+    public Simulation(SimulationListener listener) {
+        this(listener, System.nanoTime());
+    }
+
+    public Simulation(SimulationListener listener, long seed) {
+        this(listener, seed, Difficulty.DEFAULT);
+    }
+
+    public Simulation(SimulationListener listener, long seed, Difficulty difficulty) {
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.listener = listener;
+        random = new Random(seed);
+        dino = new DinoBody(listener);
+        enemies = new Enemies(random, difficulty);
+        pickups = new Pickups(random, difficulty);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // random for clouds, rain drops etc., repeatable with the run but separate from the game's own
+    public Random newSceneryRandom() {
+        return new Random(seed ^ SCENERY_SEED);
+    }
+
+    // hash of the state that matters for the game, two runs with equal checksums played out the same
+    public long checksum() {
+        long hash = tick;
+        hash = hash * 31 + gameState.ordinal();
+        hash = hash * 31 + Double.doubleToLongBits(speedX);
+        hash = hash * 31 + Double.doubleToLongBits(score);
+        hash = hash * 31 + Double.doubleToLongBits(dino.getY());
+        hash = hash * 31 + dino.getDinoState().ordinal();
+        // cactuses before birds, each in spawn order, as when they were kept in separate lists
+        EntityStore e = enemies.getEntities();
+        for(int i = 0; i < e.size(); i++)
+            if(e.type[i] == EntityStore.CACTUS)
+                hash = hash * 31 + Double.doubleToLongBits(e.x[i]) + e.sprite[i];
+        for(int i = 0; i < e.size(); i++)
+            if(e.type[i] == EntityStore.BIRD)
+                hash = hash * 31 + Double.doubleToLongBits(e.x[i]) + e.y[i];
+        EntityStore shields = pickups.getShields();
+        for(int i = 0; i < shields.size(); i++)
+            hash = hash * 31 + Double.doubleToLongBits(shields.x[i]);
+        return hash;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public double getSpeedX() {
+        return speedX;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public int getScore() {
+        return (int)score;
+    }
+
+    public int getIntroCountdown() {
+        return introCountdown;
+    }
+
+    public boolean isCollisions() {
+        return collisions;
+    }
+
+    public int getInvincibilityFrames() {
+        return invincibilityFrames;
+    }
+
+    public boolean isRaining() {
+        return raining;
+    }
+
+    public int getRainTimer() {
+        return rainTimer;
+    }
+
+    public int getNextRainScore() {
+        return nextRainScore;
+    }
+
+    public DinoBody getDino() {
+        return dino;
+    }
+
+    public Enemies getEnemies() {
+        return enemies;
+    }
+
+    public Pickups getPickups() {
+        return pickups;
+    }
+
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    // advance the game by one tick, input is a combination of Input flags
+    public void tick(int input) {
+        tick++;
+        dinoStartBottom = (int)dino.getY() + dino.getSprite().getHeight();
+        if(Input.has(input, Input.DEBUG))
+            collisions = !collisions;
+        if(Input.has(input, Input.PAUSE))
+            pressPauseAction();
+        if(Input.has(input, Input.UP_RELEASED))
+            releaseUpAction();
+        if(Input.has(input, Input.DOWN_RELEASED))
+            releaseDownAction();
+        if(Input.has(input, Input.UP))
+            pressUpAction();
+        if(Input.has(input, Input.DOWN))
+            pressDownAction();
+        updateFrame(input);
+    }
+
+    // update all entities positions
+    private void updateFrame(int input) {
+        switch (gameState) {
+            case GAME_STATE_INTRO:
+                dino.updatePosition(input);
+                introCountdown += speedX;
+                if(introCountdown <= 0)
+                    gameState = GameState.GAME_STATE_IN_PROGRESS;
+                if(introJump) {
+                    dino.jump();
+                    dino.setDinoState(DinoState.DINO_JUMP);
+                    introJump = false;
+                }
+                break;
+            case GAME_STATE_IN_PROGRESS:
+                speedX += difficulty.difficultyInc;
+                long phaseStart = phaseStart();
+                dino.updatePosition(input);
+                phaseStart = phaseEnd(Phase.DINO, phaseStart);
+                enemies.updatePosition(speedX);
+                phaseStart = phaseEnd(Phase.ENEMIES, phaseStart);
+                pickups.updatePosition(speedX, getScore(), dino.hasShield(), tick);
+                phaseEnd(Phase.SHIELDS, phaseStart);
+
+                // Decrease invincibility frames
+                if(invincibilityFrames > 0) {
+                    invincibilityFrames--;
+                }
+
+                // Rain logic - trigger every 1000 points after 500
+                if(getScore() >= nextRainScore && !raining) {
+                    raining = true;
+                    rainTimer = RAIN_DURATION;
+                    nextRainScore += RAIN_INTERVAL; // Set next rain milestone
+                    listener.onEvent(GameEvent.RAIN_START);
+                }
+
+                // Count down rain timer
+                if(raining && rainTimer > 0) {
+                    rainTimer--;
+                    if(rainTimer == 0) {
+                        raining = false;
+                        listener.onEvent(GameEvent.RAIN_STOP);
+                    }
+                }
+
+                // Check for shield collection
+                phaseStart = phaseStart();
+                Sprite dinoSprite = dino.getSprite();
+                int dinoY = (int)dino.getY();
+                int dinoStartY = dinoStartBottom - dinoSprite.getHeight();
+                if(pickups.checkCollection(dinoSprite, (int)DinoBody.X, dinoStartY, (int)DinoBody.X, dinoY)) {
+                    dino.activateShield();
+                }
+
+                // Check for enemy collision only if not in invincibility frames
+                if(collisions && invincibilityFrames == 0 && enemies.isCollision(dinoSprite, (int)DinoBody.X, dinoStartY, (int)DinoBody.X, dinoY)) {
+                    if(dino.hasShield()) {
+                        // Pop the shield and give brief invincibility
+                        dino.popShield();
+                        invincibilityFrames = INVINCIBILITY_DURATION;
+                    } else {
+                        // No shield - game over
+                        gameState = GameState.GAME_STATE_OVER;
+                        gameOverTicks = 0;
+                        dino.dinoGameOver();
+                        listener.onEvent(GameEvent.GAME_OVER);
+                    }
+                }
+                phaseEnd(Phase.COLLISIONS, phaseStart);
+                scoreUp();
+                break;
+            case GAME_STATE_OVER:
+                gameOverTicks++;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private long phaseStart() {
+        return profiler != null ? System.nanoTime() : 0;
+    }
+
+    // records the phase and returns its end time so the next phase can start from it
+    private long phaseEnd(Phase phase, long start) {
+        if(profiler == null)
+            return 0;
+        long end = System.nanoTime();
+        profiler.record(phase, end - start);
+        return end;
+    }
+
+    private void scoreUp() {
+        score += SCORE_INC;
+        // play sound every 100 points
+        if((int)score != 0 && score % 100 <= 0.1)
+            listener.onEvent(GameEvent.SCORE_UP);
+    }
+
+    private void pressUpAction() {
+        if(gameState == GameState.GAME_STATE_IN_PROGRESS) {
+            dino.jump();
+            dino.setDinoState(DinoState.DINO_JUMP);
+        }
+    }
+
+    private void releaseUpAction() {
+        if(gameState == GameState.GAME_STATE_START)
+            gameState = GameState.GAME_STATE_INTRO;
+        if(gameState == GameState.GAME_STATE_OVER && gameOverTicks >= RESTART_DELAY) {
+            // listeners still see the old score here
+            listener.onEvent(GameEvent.RESTART);
+            speedX = STARTING_SPEED_X;
+            score = 0;
+            enemies.clearEnemy();
+            pickups.clearShields();
+            dino.resetDino();
+            raining = false;
+            nextRainScore = RAIN_FIRST_SCORE; // Reset rain milestone
+            rainTimer = 0;
+            invincibilityFrames = 0; // Reset invincibility
+            gameState = GameState.GAME_STATE_IN_PROGRESS;
+        }
+    }
+
+    private void pressDownAction() {
+        if(dino.getDinoState() != DinoState.DINO_JUMP && gameState == GameState.GAME_STATE_IN_PROGRESS)
+            dino.setDinoState(DinoState.DINO_DOWN_RUN);
+    }
+
+    private void releaseDownAction() {
+        if(dino.getDinoState() != DinoState.DINO_JUMP && gameState == GameState.GAME_STATE_IN_PROGRESS)
+            dino.setDinoState(DinoState.DINO_RUN);
+    }
+
+    private void pressPauseAction() {
+        if(gameState == GameState.GAME_STATE_IN_PROGRESS) {
+            gameState = GameState.GAME_STATE_PAUSED;
+            listener.onEvent(GameEvent.PAUSE);
+        } else if(gameState == GameState.GAME_STATE_PAUSED) {
+            gameState = GameState.GAME_STATE_IN_PROGRESS;
+            listener.onEvent(GameEvent.RESUME);
+        }
+    }
+
+}
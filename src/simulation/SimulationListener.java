@@ -0,0 +1,11 @@
+package simulation;
+
+public interface SimulationListener {
+
+    // for headless runs where nobody listens
+    SimulationListener NONE = event -> {};
+
+    // called on the simulation thread, in the middle of a tick
+    void onEvent(GameEvent event);
+
+}
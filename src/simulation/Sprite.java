@@ -0,0 +1,134 @@
+package simulation;
+
+// sprites the game rules need to know about, sizes are the sizes of the PNGs in resources
+// so the simulation can run without loading (or even having) any images
+public enum Sprite {
+
+    DINO_RUN_1("resources/dino-run-1.png", 88, 94),
+    DINO_RUN_2("resources/dino-run-2.png", 88, 94),
+    DINO_DOWN_RUN_1("resources/dino-down-run-1.png", 118, 60),
+    DINO_DOWN_RUN_2("resources/dino-down-run-2.png", 118, 60),
+    DINO_JUMP("resources/dino-jump.png", 88, 94),
+    DINO_DEAD("resources/dino-dead.png", 88, 94),
+    CACTUS_1("resources/cactus-1.png", 34, 70),
+    CACTUS_2("resources/cactus-2.png", 34, 70),
+    CACTUS_3("resources/cactus-3.png", 34, 70),
+    CACTUS_4("resources/cactus-4.png", 34, 70),
+    CACTUS_5("resources/cactus-5.png", 50, 100),
+    CACTUS_6("resources/cactus-6.png", 48, 100),
+    CACTUS_7("resources/cactus-7.png", 50, 100),
+    CACTUS_8("resources/cactus-8.png", 60, 96),
+    CACTUS_9("resources/cactus-9.png", 50, 100),
+    BIRD_FLY_1("resources/bird-fly-1.png", 92, 68),
+    BIRD_FLY_2("resources/bird-fly-2.png", 92, 60),
+    SHIELD("resources/Shield.png", 500, 500);
+
+    private static final Sprite[] CACTUSES = { CACTUS_1, CACTUS_2, CACTUS_3, CACTUS_4, CACTUS_5,
+            CACTUS_6, CACTUS_7, CACTUS_8, CACTUS_9 };
+
+    // hitboxes are worked out once per sprite here, collision checks just add them to the position
+    static {
+        // values to add to x, y, width, height of the dino to get accurate hitbox
+        // running, jumping and dead all use the same box
+        for(Sprite dino : new Sprite[] { DINO_RUN_1, DINO_RUN_2, DINO_JUMP, DINO_DEAD })
+            dino.setHitbox(12, 26, -32, -42);
+        DINO_DOWN_RUN_1.setHitbox(24, 8, -60, -24);
+        DINO_DOWN_RUN_2.setHitbox(24, 8, -60, -24);
+        // weird calculation by its working as needed
+        // basically i make it thinner from left and right and shorter to match it perfectly
+        // enable hitboxes in GameScreen to see it
+        for(Sprite cactus : CACTUSES) {
+            int side = (int)(cactus.width / 2.7);
+            cactus.setHitbox(side, cactus.height / 25, -side * 2, -(cactus.height / 25));
+        }
+        // wings down and wings up
+        BIRD_FLY_1.setHitbox(20, 4, -40, -28);
+        BIRD_FLY_2.setHitbox(20, 4, -40, -20);
+        // shield is drawn at a quarter of its size, see Pickups
+        SHIELD.setHitbox(5, 5, -SHIELD.width * 3 / 4 - 10, -SHIELD.height * 3 / 4 - 10);
+        // difference in two sprites of birds, with wings up and down so that bird is not jumping as crazy
+        BIRD_FLY_2.drawOffsetY = -12;
+    }
+
+    private final String path;
+    private final int width;
+    private final int height;
+    // drawn this far below the y of its entity
+    private int drawOffsetY = 0;
+    // solid pixels, null until util.Resource made it from the image, collisions use just the hitbox then
+    private CollisionMask mask;
+    // hitbox relative to the y of its entity
+    private int hitboxX;
+    private int hitboxY;
+    private int hitboxWidth;
+    private int hitboxHeight;
+
+    private Sprite(String path, int width, int height) {
+        this.path = path;
+        this.width = width;
+        this.height = height;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getDrawOffsetY() {
+        return drawOffsetY;
+    }
+
+    public CollisionMask getMask() {
+        return mask;
+    }
+
+    // the hand tuned hitbox gives way to the box around the solid pixels, collisions test the pixels inside it
+    // set before the game runs, while nothing is checking collisions
+    public void setMask(CollisionMask mask) {
+        this.mask = mask;
+        hitboxX = mask.getLeft();
+        hitboxY = drawOffsetY + mask.getTop();
+        hitboxWidth = mask.getBoundsWidth();
+        hitboxHeight = mask.getBoundsHeight();
+    }
+
+    public int getHitboxX() {
+        return hitboxX;
+    }
+
+    public int getHitboxY() {
+        return hitboxY;
+    }
+
+    public int getHitboxWidth() {
+        return hitboxWidth;
+    }
+
+    public int getHitboxHeight() {
+        return hitboxHeight;
+    }
+
+    private void setHitbox(int x, int y, int widthChange, int heightChange) {
+        hitboxX = x;
+        hitboxY = y;
+        hitboxWidth = width + widthChange;
+        hitboxHeight = height + heightChange;
+    }
+
+    // cactus sprite by its number in file name, 1 to 9
+    public static Sprite cactus(int number) {
+        return CACTUSES[number - 1];
+    }
+
+    public static int cactusCount() {
+        return CACTUSES.length;
+    }
+
+}
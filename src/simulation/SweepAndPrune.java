@@ -0,0 +1,92 @@
+package simulation;
+
+import java.util.Arrays;
+
+// broad phase for one EntityStore: rows sorted by the left edge of the box their hitbox swept over during the last
+// tick, so a check only looks at the few rows around the dino instead of every row
+// the order is kept from one update to the next, things only move a few pixels a tick so sorting it again is
+// a single pass most of the time, no matter how the rows were added
+public class SweepAndPrune {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int count = 0;
+    // row of the store, sorted by left
+    private int[] order = new int[INITIAL_CAPACITY];
+    private int[] left = new int[INITIAL_CAPACITY];
+    // store ids at the last update, in row order
+    private long[] ids = new long[INITIAL_CAPACITY];
+    // last update's row to the row it is now, -1 once it was dropped
+    private int[] newRow = new int[INITIAL_CAPACITY];
+    // nothing starting further left than the widest swept box can still reach a box
+    private int maxWidth = 0;
+
+    // call after the store changed
+    public void update(EntityStore store) {
+        int size = store.size();
+        if(size > order.length) {
+            int capacity = Math.max(size, order.length * 2);
+            order = Arrays.copyOf(order, capacity);
+            left = Arrays.copyOf(left, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            newRow = Arrays.copyOf(newRow, capacity);
+        }
+        // the store only drops rows keeping the order of the rest and adds new ones at the end,
+        // so both id lists are ascending and one walk over them finds where every old row went
+        int row = 0;
+        for(int old = 0; old < count; old++)
+            newRow[old] = row < size && store.id[row] == ids[old] ? row++ : -1;
+        int kept = 0;
+        for(int i = 0; i < count; i++) {
+            if(newRow[order[i]] >= 0)
+                order[kept++] = newRow[order[i]];
+        }
+        for(; row < size; row++)
+            order[kept++] = row;
+        count = size;
+        System.arraycopy(store.id, 0, ids, 0, size);
+
+        maxWidth = 0;
+        for(int i = 0; i < count; i++) {
+            int r = order[i];
+            int x = store.getSweptHitboxX(r);
+            int j = i;
+            while(j > 0 && left[j - 1] > x) {
+                order[j] = order[j - 1];
+                left[j] = left[j - 1];
+                j--;
+            }
+            order[j] = r;
+            left[j] = x;
+            maxWidth = Math.max(maxWidth, store.getSweptHitboxWidth(r));
+        }
+    }
+
+    // the leftmost row touching sprite on its way from (prevX, prevY) to (x, y), see EntityStore.overlaps, -1 for none
+    public int findOverlapping(EntityStore store, Sprite sprite, int prevX, int prevY, int x, int y) {
+        int sweptX = Math.min(prevX, x) + sprite.getHitboxX();
+        int sweptWidth = Math.abs(x - prevX) + sprite.getHitboxWidth();
+        if(sprite.getHitboxWidth() <= 0)
+            return -1;
+        for(int i = firstReaching(sweptX - maxWidth + 1); i < count && left[i] < sweptX + sweptWidth; i++) {
+            if(store.overlaps(order[i], sprite, prevX, prevY, x, y))
+                return order[i];
+        }
+        return -1;
+    }
+
+    // first sorted index with left >= x
+    private int firstReaching(int x) {
+        int low = 0;
+        int high = count;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(left[middle] < x)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+}
@@ -0,0 +1,160 @@
+package user_interface;
+
+import java.util.Arrays;
+
+import misc.DinoState;
+import misc.GameState;
+import simulation.DinoBody;
+import simulation.EntityStore;
+import simulation.Pickups;
+import simulation.Simulation;
+import simulation.Sprite;
+import util.Particles;
+
+// everything a frame needs to be drawn, copied from the game thread after every tick
+// snapshots live in a util.TripleBuffer and get reused, so nothing here is allocated once the arrays are big enough
+public class FrameSnapshot {
+
+    // one kind of drawable thing (cactuses, birds, clouds...) as parallel arrays
+    public static class Layer {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        public int count = 0;
+        public Sprite[] sprite = new Sprite[INITIAL_CAPACITY];
+        public double[] prevX = new double[INITIAL_CAPACITY];
+        public double[] x = new double[INITIAL_CAPACITY];
+        public double[] prevY = new double[INITIAL_CAPACITY];
+        public double[] y = new double[INITIAL_CAPACITY];
+        // only filled when hitboxes are shown
+        public int[] hitboxX = new int[INITIAL_CAPACITY];
+        public int[] hitboxY = new int[INITIAL_CAPACITY];
+        public int[] hitboxWidth = new int[INITIAL_CAPACITY];
+        public int[] hitboxHeight = new int[INITIAL_CAPACITY];
+
+        public void clear() {
+            count = 0;
+        }
+
+        // index of a new element, arrays grow by doubling so a steady scene stops allocating
+        public int add(Sprite sprite, double prevX, double x, double prevY, double y) {
+            if(count == this.x.length)
+                grow();
+            this.sprite[count] = sprite;
+            this.prevX[count] = prevX;
+            this.x[count] = x;
+            this.prevY[count] = prevY;
+            this.y[count] = y;
+            return count++;
+        }
+
+        public void setHitbox(int index, EntityStore store, int row) {
+            hitboxX[index] = store.getHitboxX(row);
+            hitboxY[index] = store.getHitboxY(row);
+            hitboxWidth[index] = store.getHitboxWidth(row);
+            hitboxHeight[index] = store.getHitboxHeight(row);
+        }
+
+        private void grow() {
+            int capacity = x.length * 2;
+            sprite = Arrays.copyOf(sprite, capacity);
+            prevX = Arrays.copyOf(prevX, capacity);
+            x = Arrays.copyOf(x, capacity);
+            prevY = Arrays.copyOf(prevY, capacity);
+            y = Arrays.copyOf(y, capacity);
+            hitboxX = Arrays.copyOf(hitboxX, capacity);
+            hitboxY = Arrays.copyOf(hitboxY, capacity);
+            hitboxWidth = Arrays.copyOf(hitboxWidth, capacity);
+            hitboxHeight = Arrays.copyOf(hitboxHeight, capacity);
+        }
+
+    }
+
+    // System.nanoTime() at which this state is exact, frames drawn later interpolate towards the next tick
+    public long tickTime;
+    public long tick;
+    public GameState gameState = GameState.GAME_STATE_START;
+    public int score;
+    public int hiScore;
+    public int introCountdown;
+    public double speedX;
+    public int invincibilityFrames;
+    public boolean raining;
+    public int rainTimer;
+    public int nextRainScore;
+    public boolean showHitboxes;
+
+    public Sprite dinoSprite;
+    public DinoState dinoState;
+    public double dinoPrevY;
+    public double dinoY;
+    public boolean dinoShield;
+    public boolean dinoShieldVisible;
+    public int dinoShieldTicks;
+    // only filled when hitboxes are shown
+    public int dinoHitboxX;
+    public int dinoHitboxY;
+    public int dinoHitboxWidth;
+    public int dinoHitboxHeight;
+
+    public double landPrevX;
+    public double landX;
+
+    public final Layer cactuses = new Layer();
+    public final Layer birds = new Layer();
+    public final Layer shields = new Layer();
+    public final Layer clouds = new Layer();
+    // game_object.Rain's own state, it follows raining through events but is what the drops and vignette go by
+    public boolean rainFalling;
+    public final Particles rainDrops = new Particles();
+
+    // copies the game side, scenery fills its own layers
+    public void capture(Simulation simulation, boolean hitboxes) {
+        tick = simulation.getTick();
+        gameState = simulation.getGameState();
+        score = simulation.getScore();
+        introCountdown = simulation.getIntroCountdown();
+        speedX = simulation.getSpeedX();
+        invincibilityFrames = simulation.getInvincibilityFrames();
+        raining = simulation.isRaining();
+        rainTimer = simulation.getRainTimer();
+        nextRainScore = simulation.getNextRainScore();
+        showHitboxes = hitboxes;
+
+        DinoBody dino = simulation.getDino();
+        dinoSprite = dino.getSprite();
+        dinoState = dino.getDinoState();
+        dinoPrevY = dino.getPrevY();
+        dinoY = dino.getY();
+        dinoShield = dino.hasShield();
+        dinoShieldVisible = dino.isShieldVisible();
+        dinoShieldTicks = dino.getShieldTicks();
+        if(hitboxes) {
+            dinoHitboxX = dino.getHitboxX();
+            dinoHitboxY = dino.getHitboxY();
+            dinoHitboxWidth = dino.getHitboxWidth();
+            dinoHitboxHeight = dino.getHitboxHeight();
+        }
+
+        EntityStore e = simulation.getEnemies().getEntities();
+        cactuses.clear();
+        birds.clear();
+        for(int i = 0; i < e.size(); i++) {
+            Layer layer = e.type[i] == EntityStore.CACTUS ? cactuses : birds;
+            int index = layer.add(e.getSprite(i), e.prevX[i], e.x[i], e.y[i], e.y[i]);
+            if(hitboxes)
+                layer.setHitbox(index, e, i);
+        }
+
+        Pickups pickups = simulation.getPickups();
+        EntityStore s = pickups.getShields();
+        shields.clear();
+        for(int i = 0; i < s.size(); i++) {
+            int y = s.y[i] + pickups.getBobOffset(i, tick);
+            int index = shields.add(Sprite.SHIELD, s.prevX[i], s.x[i], y, y);
+            if(hitboxes)
+                shields.setHitbox(index, s, i);
+        }
+    }
+
+}
@@ -1,14 +1,25 @@
 package user_interface;
 
+import static simulation.Simulation.GROUND_Y;
+import static simulation.Simulation.TICKS_PER_SECOND;
 import static user_interface.GameWindow.SCREEN_HEIGHT;
 import static user_interface.GameWindow.SCREEN_WIDTH;
 import static util.Resource.getImage;
 
 import java.awt.AlphaComposite;
+import java.awt.Canvas;
 import java.awt.Color;
+import java.awt.DisplayMode;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
 import javax.swing.JPanel;
 
 import game_object.Clouds;
@@ -16,6 +27,7 @@ import game_object.Dino;
 import game_object.Land;
 import game_object.Rain;
 import game_object.Score;
+import manager.AudioEngine;
 import manager.ControlsManager;
 import manager.EnemyManager;
 import manager.ShieldManager;
@@ -24,339 +36,634 @@ import misc.Controls;
 import manager.BGMManager;
 import misc.DinoState;
 import misc.GameState;
-
+import misc.RenderMode;
+import simulation.GameEvent;
+import simulation.Input;
+import simulation.InputRecording;
+import simulation.Simulation;
+import simulation.SimulationListener;
+import util.AssetLoader;
+import util.FramePacer;
+import util.FrameProfiler;
+import util.FrameProfiler.Phase;
+import util.Atlas;
+import util.Atlas.Region;
+import util.CachedLayer;
+import util.Histogram;
+import util.TripleBuffer;
+import util.PaintEvent;
+import util.Resource;
+import util.TickEvent;
+
+// window side of the game: runs the loop, feeds input to the simulation, plays sounds and draws
+// game thread ticks and publishes a FrameSnapshot after every tick, drawing only ever reads snapshots
+// so it can run at the same time on the render thread (active) or the EDT (passive)
 @SuppressWarnings(value = { "serial" })
-public class GameScreen extends JPanel implements Runnable {
+public class GameScreen extends JPanel implements Runnable, SimulationListener {
 
     private Thread thread;
+    private Thread renderThread;
+
+    private static final long NS_PER_TICK = 1_000_000_000L / TICKS_PER_SECOND;
+    // if a frame stalls for longer than this we drop the time instead of fast forwarding the game
+    private static final int MAX_TICKS_PER_FRAME = 10;
+    // used when the display doesn't report its refresh rate
+    private static final int DEFAULT_FPS = 100;
+    private static final int LOADING_BAR_WIDTH = 200;
+    private static final int LOADING_BAR_HEIGHT = 4;
+
+    private final int FPS = getRefreshRate();
+    private final long NS_PER_FRAME = 1_000_000_000L / FPS;
+
+    // newest state for drawing, written by the game thread, read by whoever draws
+    private final TripleBuffer<FrameSnapshot> snapshots = new TripleBuffer<FrameSnapshot>(FrameSnapshot::new);
+    // real time the tick being run belongs to, goes into its snapshot for interpolation
+    private long tickTime = 0;
+
+    private final RenderMode renderMode;
+    private final FramePacer tickPacer;
+    private final FramePacer framePacer;
+    // only used in active rendering, render thread draws into its buffer strategy directly
+    private Canvas canvas;
+    // frames the render loop asked for vs frames that actually reached the screen
+    private volatile long requestedFrames = 0;
+    private volatile long presentedFrames = 0;
 
-    private static final int STARTING_SPEED_X = -5;
-    private static final double DIFFICULTY_INC = -0.0002;
-
-    public static final double GRAVITY = 0.4;
-    public static final int GROUND_Y = 280;
-    public static final double SPEED_Y = -12;
-
-    private final int FPS = 100;
-    private final int NS_PER_FRAME = 1_000_000_000 / FPS;
-
-    private double speedX = STARTING_SPEED_X;
-    private GameState gameState = GameState.GAME_STATE_START;
-    private int introCountdown = 1000;
-    private boolean introJump = true;
     private boolean showHitboxes = false;
-    private boolean collisions = true;
-    
-    // Invincibility frames after shield pops
-    private int invincibilityFrames = 0;
-    private static final int INVINCIBILITY_DURATION = 30; // 0.3 seconds at 100 FPS
-
-    // Rain configuration - appears every 1000 points after 500
-    private static final int RAIN_FIRST_SCORE = 500;
-    private static final int RAIN_INTERVAL = 1000;
-    private static final int RAIN_DURATION = 3000; // 30 seconds (3000 frames at 100 FPS)
-    private int rainTimer = 0;
-    private int nextRainScore = RAIN_FIRST_SCORE;
 
+    // images and sounds decode on this while the window already shows a loading bar
+    private final AssetLoader assets;
+    // set once everything below that needs assets exists, until then only the loading bar is drawn
+    private volatile boolean ready = false;
+    // startup times in ms since the jvm started, -1 until they happen
+    private volatile long firstFrameMillis = -1;
+    private volatile long interactiveMillis = -1;
+
+    // always on, a clock read per phase is nothing next to a frame
+    private final FrameProfiler profiler = new FrameProfiler();
+
+    // input of every tick so far, saved on game over when a record file is given
+    private InputRecording recording;
+    private File recordFile;
+    private boolean saveRecording = false;
+    // input comes from here instead of the keyboard while replaying
+    private InputRecording replay;
+
+    private Simulation simulation;
+    private Random sceneryRandom;
     private Controls controls;
     private Score score;
     private Dino dino;
     private Land land;
     private Clouds clouds;
     private Rain rain;
+    private final Integer rainDrops;
     private EnemyManager eManager;
     private ShieldManager sManager;
+    private SoundManager jumpSound;
+    private SoundManager scoreUpSound;
+    private SoundManager shieldEquipSound;
+    private SoundManager shieldPopSound;
     private SoundManager gameOverSound;
     private ControlsManager cManager;
     private BGMManager bgmManager;
-
-    public GameScreen() {
-        thread = new Thread(this);
-        controls = new Controls(this);
+    // panels drawn over the game, painted once and blitted every frame
+    private CachedLayer introPanel;
+    private CachedLayer gameOverPanel;
+    private CachedLayer pausedPanel;
+
+    public GameScreen(LaunchOptions options) {
+        assets = new AssetLoader();
+        // music streams on its own threads, starting it doesn't wait for any track to load
+        bgmManager = new BGMManager();
+        bgmManager.start();
+        this.renderMode = options.getRenderMode();
+        tickPacer = new FramePacer(options.getPacingMode());
+        framePacer = new FramePacer(options.getPacingMode());
+        thread = new Thread(this, "Game");
+        renderThread = new Thread(this::renderLoop, "Render");
+        controls = new Controls();
         super.add(controls.pressUp);
         super.add(controls.releaseUp);
         super.add(controls.pressDown);
         super.add(controls.releaseDown);
         super.add(controls.pressDebug);
         super.add(controls.pressPause);
-        cManager = new ControlsManager(controls, this);
+        if(renderMode == RenderMode.ACTIVE) {
+            setLayout(null);
+            setIgnoreRepaint(true);
+            canvas = new Canvas();
+            canvas.setBounds(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+            canvas.setIgnoreRepaint(true);
+            // key bindings live on the swing labels, canvas must not steal focus from them
+            canvas.setFocusable(false);
+            super.add(canvas);
+        }
+        long seed = options.getSeed() != null ? options.getSeed() : System.nanoTime();
+        if(options.getReplayFile() != null) {
+            try {
+                replay = InputRecording.load(options.getReplayFile());
+                seed = replay.getSeed();
+            } catch (IOException e) {
+                System.err.println("Failed to load replay: " + options.getReplayFile());
+                e.printStackTrace();
+            }
+        }
+        simulation = new Simulation(this, seed);
+        simulation.setProfiler(profiler);
+        if(options.getFrameTimesFile() != null) {
+            File frameTimesFile = options.getFrameTimesFile();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    profiler.writeCsv(frameTimesFile);
+                } catch (IOException e) {
+                    System.err.println("Failed to write frame times: " + frameTimesFile);
+                    e.printStackTrace();
+                }
+            }));
+        }
+        sceneryRandom = simulation.newSceneryRandom();
+        recording = new InputRecording(seed);
+        recordFile = options.getRecordFile();
+        cManager = new ControlsManager(controls);
+        rainDrops = options.getRainDrops();
+    }
+
+    // rest of startup, needs the assets so it waits for the loader, game thread does this before its first tick
+    // public so whoever ticks the game by hand (benchmarks) can wait for it too
+    public synchronized void awaitAssets() {
+        if(ready)
+            return;
+        assets.await();
+        // before the first tick, collisions use them from then on
+        Resource.loadCollisionMasks();
+        introPanel = new CachedLayer(getImage(Resource.INTRO_TEXT));
+        gameOverPanel = createGameOverPanel(getImage(Resource.GAME_OVER));
+        pausedPanel = new CachedLayer(getImage(Resource.PAUSED));
         score = new Score(this);
-        dino = new Dino(controls);
+        dino = new Dino();
         land = new Land(this);
         clouds = new Clouds(this);
-        rain = new Rain(this);
-        eManager = new EnemyManager(this);
-        sManager = new ShieldManager(this, dino);
-        gameOverSound = new SoundManager("resources/dead.wav");
-        gameOverSound.startThread();
-        bgmManager = new BGMManager();
-        bgmManager.start();
+        rain = rainDrops != null ? new Rain(this, rainDrops) : new Rain(this);
+        eManager = new EnemyManager();
+        sManager = new ShieldManager();
+        jumpSound = new SoundManager(Resource.JUMP_SOUND);
+        scoreUpSound = new SoundManager(Resource.SCORE_UP_SOUND, 1f, 0f, 1);
+        shieldEquipSound = new SoundManager(Resource.SHIELD_EQUIP_SOUND, 1f, 0f, 1);
+        shieldPopSound = new SoundManager(Resource.SHIELD_POP_SOUND);
+        gameOverSound = new SoundManager(Resource.GAME_OVER_SOUND, 1f, 0f, 1);
+        publishSnapshot();
+        ready = true;
+        interactiveMillis = millisSinceLaunch();
+        System.out.println("Interactive " + interactiveMillis + "ms after launch, assets took " + assets.getLoadNanos() / 1_000_000
+                + "ms on " + assets.getThreadCount() + " threads" + (assets.usedPack() ? " from the asset pack" : ""));
+    }
+
+    // game over text with the replay button a text height below it
+    private static CachedLayer createGameOverPanel(BufferedImage gameOver) {
+        int width = Math.max(gameOver.getWidth(), Region.REPLAY.width);
+        int height = gameOver.getHeight() * 2 + Region.REPLAY.height;
+        return new CachedLayer(width, height, g -> {
+            g.drawImage(gameOver, width / 2 - gameOver.getWidth() / 2, 0, null);
+            Atlas.get().draw(g, Region.REPLAY, width / 2 - Region.REPLAY.width / 2, gameOver.getHeight() * 2);
+        });
+    }
+
+    private static long millisSinceLaunch() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
     }
 
     public void startThread() {
         thread.start();
+        renderThread.start();
     }
 
+    private static int getRefreshRate() {
+        // no screen at all, e.g. benchmarks drawing into an image
+        if(GraphicsEnvironment.isHeadless())
+            return DEFAULT_FPS;
+        DisplayMode displayMode = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode();
+        if(displayMode.getRefreshRate() == DisplayMode.REFRESH_RATE_UNKNOWN)
+            return DEFAULT_FPS;
+        return displayMode.getRefreshRate();
+    }
+
+    // game thread, only simulates, drawing happens in renderLoop
     @Override
     public void run() {
-        long prevFrameTime = System.nanoTime();
-        int waitingTime = 0;
+        awaitAssets();
+        long prevTime = System.nanoTime();
+        long accumulator = 0;
         while(true) {
-            cManager.update();
-            updateFrame();
-            repaint();
-            waitingTime = (int)((NS_PER_FRAME - (System.nanoTime() - prevFrameTime)) / 1_000_000);
-            if(waitingTime < 0)
-                waitingTime = 1;
-            SoundManager.WAITING_TIME = waitingTime;
-            // little pause to not start new game if you are spamming your keys
-            if(gameState == GameState.GAME_STATE_OVER)
-                waitingTime = 1000;
-            try {
-                Thread.sleep(waitingTime);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+            long now = System.nanoTime();
+            accumulator += now - prevTime;
+            prevTime = now;
+            if(accumulator > NS_PER_TICK * MAX_TICKS_PER_FRAME)
+                accumulator = NS_PER_TICK * MAX_TICKS_PER_FRAME;
+            // run as many fixed ticks as real time passed, leftover goes to the next round
+            while(accumulator >= NS_PER_TICK) {
+                accumulator -= NS_PER_TICK;
+                tickTime = now - accumulator;
+                long inputStart = System.nanoTime();
+                int input = nextInput();
+                long tickStart = System.nanoTime();
+                profiler.record(Phase.INPUT, tickStart - inputStart);
+                tick(input);
+                profiler.record(Phase.TICK, System.nanoTime() - tickStart);
             }
-            prevFrameTime = System.nanoTime();
+            // how much later than the next tick was due we got to run again
+            profiler.record(Phase.TICK_OVERSHOOT, tickPacer.waitUntil(now - accumulator + NS_PER_TICK));
         }
     }
 
-    public double getSpeedX() {
-        return speedX;
+    // render thread, draws the newest snapshot once per display refresh
+    private void renderLoop() {
+        while(true) {
+            long frameStartTime = System.nanoTime();
+            requestedFrames++;
+            if(renderMode == RenderMode.ACTIVE)
+                renderActive();
+            else
+                repaint();
+            profiler.record(Phase.FRAME, System.nanoTime() - frameStartTime);
+            // how much later than the frame deadline we got to run again
+            profiler.record(Phase.SLEEP_OVERSHOOT, framePacer.waitUntil(frameStartTime + NS_PER_FRAME));
+        }
     }
 
-    public GameState getGameState() {
-        return gameState;
+    private int nextInput() {
+        // keys are taken even while replaying so they don't pile up
+        int input = cManager.update(tickTime);
+        if(replay != null) {
+            if(replay.hasNext())
+                return replay.next();
+            // replay is over, player takes it from here
+            System.out.println("Replay finished at tick " + simulation.getTick() + (simulation.getTick() == replay.getEndTick()
+                    && simulation.checksum() == replay.getEndChecksum() ? ", matches recording" : ", DOES NOT match recording"));
+            replay = null;
+        }
+        return input;
     }
-    
-    public int getScore() {
-        return score.getCurrentScore();
+
+    // one simulation tick plus everything that follows it, the game loop calls this TICKS_PER_SECOND times a second
+    public void tick(int input) {
+        TickEvent event = new TickEvent();
+        event.begin();
+        if(Input.has(input, Input.DEBUG))
+            showHitboxes = !showHitboxes;
+        recording.record(input);
+        simulation.tick(input);
+        updateScenery();
+        long snapshotStart = System.nanoTime();
+        publishSnapshot();
+        record(Phase.SNAPSHOT, snapshotStart);
+        if(saveRecording) {
+            saveRecording = false;
+            try {
+                recording.save(recordFile, simulation);
+            } catch (IOException e) {
+                System.err.println("Failed to save recording: " + recordFile);
+                e.printStackTrace();
+            }
+        }
+        if(event.shouldCommit()) {
+            event.tick = simulation.getTick();
+            event.gameState = simulation.getGameState().name();
+            event.enemies = simulation.getEnemies().getEntities().size();
+            event.commit();
+        }
+    }
+
+    private void publishSnapshot() {
+        FrameSnapshot frame = snapshots.writable();
+        frame.tickTime = tickTime;
+        frame.capture(simulation, showHitboxes);
+        score.capture(frame);
+        land.capture(frame);
+        clouds.capture(frame);
+        rain.capture(frame);
+        snapshots.publish();
     }
 
-    // update all entities positions
-    private void updateFrame() {
-        switch (gameState) {
+    // land, clouds and rain drops don't affect the game, they just follow the simulation
+    private void updateScenery() {
+        long start = System.nanoTime();
+        switch (simulation.getGameState()) {
             case GAME_STATE_INTRO:
-                dino.updatePosition();
-                if(!introJump && dino.getDinoState() == DinoState.DINO_RUN)
+                if(simulation.getDino().getDinoState() == DinoState.DINO_RUN)
                     land.updatePosition();
+                start = record(Phase.LAND, start);
                 clouds.updatePosition();
-                introCountdown += speedX;
-                if(introCountdown <= 0)
-                    gameState = GameState.GAME_STATE_IN_PROGRESS;
-                if(introJump) {
-                    dino.jump();
-                    dino.setDinoState(DinoState.DINO_JUMP);
-                    introJump = false;
-                }
+                record(Phase.CLOUDS, start);
                 break;
             case GAME_STATE_IN_PROGRESS:
-                speedX += DIFFICULTY_INC;
-                dino.updatePosition();
                 land.updatePosition();
+                start = record(Phase.LAND, start);
                 clouds.updatePosition();
+                start = record(Phase.CLOUDS, start);
                 rain.updatePosition();
-                eManager.updatePosition();
-                sManager.updatePosition();
-                
-                // Decrease invincibility frames
-                if(invincibilityFrames > 0) {
-                    invincibilityFrames--;
-                }
-
-                // Rain logic - trigger every 1000 points after 500
-                if(getScore() >= nextRainScore && !rain.isRaining()) {
-                    rain.setRaining(true);
-                    rainTimer = RAIN_DURATION;
-                    nextRainScore += RAIN_INTERVAL; // Set next rain milestone
-                }
-                
-                // Count down rain timer
-                if(rain.isRaining() && rainTimer > 0) {
-                    rainTimer--;
-                    if(rainTimer == 0) {
-                        rain.setRaining(false);
-                    }
-                }
+                record(Phase.RAIN, start);
+                break;
+            default:
+                break;
+        }
+    }
 
-                // Check for shield collection
-                if(sManager.checkCollection(dino.getHitbox())) {
-                    dino.activateShield();
-                }
+    // records time since start and returns now, for timing phases back to back
+    private long record(Phase phase, long start) {
+        long end = System.nanoTime();
+        profiler.record(phase, end - start);
+        return end;
+    }
 
-                // Check for enemy collision only if not in invincibility frames
-                if(collisions && invincibilityFrames == 0 && eManager.isCollision(dino.getHitbox())) {
-                    if(dino.hasShield()) {
-                        // Pop the shield and give brief invincibility
-                        dino.popShield();
-                        invincibilityFrames = INVINCIBILITY_DURATION;
-                    } else {
-                        // No shield - game over
-                        gameState = GameState.GAME_STATE_OVER;
-                        dino.dinoGameOver();
-                        score.writeScore();
-                        gameOverSound.play();
-                        rain.pause(); // Stop rain sound on game over
-                    }
-                }
-                score.scoreUp();
+    @Override
+    public void onEvent(GameEvent event) {
+        switch (event) {
+            case JUMP:
+                jumpSound.play();
+                break;
+            case SCORE_UP:
+                scoreUpSound.play();
+                break;
+            case SHIELD_EQUIP:
+                shieldEquipSound.play();
+                break;
+            case SHIELD_POP:
+                shieldPopSound.play();
+                break;
+            case GAME_OVER:
+                // saved after the tick finishes, so recorded state is the end of a whole tick
+                saveRecording = recordFile != null;
+                score.writeScore();
+                gameOverSound.play();
+                rain.pause(); // Stop rain sound on game over
+                break;
+            case RESTART:
+                score.scoreReset();
+                clouds.clearClouds();
+                land.resetLand();
+                rain.setRaining(false);
+                break;
+            case RAIN_START:
+                rain.setRaining(true);
+                break;
+            case RAIN_STOP:
+                rain.setRaining(false);
+                break;
+            case PAUSE:
+                rain.pause(); // Pause rain sound
+                bgmManager.pause();
+                break;
+            case RESUME:
+                rain.resume(); // Resume rain sound
+                bgmManager.resume();
                 break;
             default:
                 break;
         }
     }
 
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    public Simulation getSimulation() {
+        return simulation;
+    }
+
+    public double getSpeedX() {
+        return simulation.getSpeedX();
+    }
+
+    public long getTick() {
+        return simulation.getTick();
+    }
+
+    public Random getSceneryRandom() {
+        return sceneryRandom;
+    }
+
+    // how far (0..1) the frame is between the snapshot's tick and the next one, used to draw in between positions
+    private static double getInterpolation(FrameSnapshot frame) {
+        double interpolation = (double)(System.nanoTime() - frame.tickTime) / NS_PER_TICK;
+        return Math.max(0, Math.min(1, interpolation));
+    }
+
+    // position to draw at, somewhere between previous and current tick
+    public static double interpolate(double prev, double current, double interpolation) {
+        return prev + (current - prev) * interpolation;
+    }
+
+    public GameState getGameState() {
+        return simulation.getGameState();
+    }
+
+    public int getScore() {
+        return simulation.getScore();
+    }
+
+    // draws the frame into the canvas back buffer and flips it, no EDT involved
+    private void renderActive() {
+        if(!canvas.isDisplayable())
+            return;
+        BufferStrategy strategy = canvas.getBufferStrategy();
+        if(strategy == null) {
+            // page flipping with accelerated volatile buffers when the pipeline supports it
+            canvas.createBufferStrategy(2);
+            strategy = canvas.getBufferStrategy();
+        }
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    long paintStart = System.nanoTime();
+                    render(g);
+                    record(Phase.PAINT, paintStart);
+                } finally {
+                    g.dispose();
+                }
+            } while(strategy.contentsRestored());
+            strategy.show();
+        } while(strategy.contentsLost());
+        // flush the window system queue so the frame shows up now, not when it feels like it (linux)
+        Toolkit.getDefaultToolkit().sync();
+        framePresented();
+    }
+
+    private void framePresented() {
+        presentedFrames++;
+        if(firstFrameMillis < 0) {
+            firstFrameMillis = millisSinceLaunch();
+            System.out.println("First frame " + firstFrameMillis + "ms after launch");
+        }
+    }
+
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
+        if(renderMode == RenderMode.ACTIVE)
+            return;
+        long paintStart = System.nanoTime();
+        render(g);
+        record(Phase.PAINT, paintStart);
+        framePresented();
+    }
+
+    private void render(Graphics g) {
+        PaintEvent event = new PaintEvent();
+        event.begin();
         g.setColor(new Color(246, 246, 246));
-        g.fillRect(0, 0, getWidth(), getHeight());
-        switch (gameState) {
+        g.fillRect(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+        if(!ready) {
+            loadingScreen(g);
+            if(event.shouldCommit()) {
+                event.renderMode = renderMode.name();
+                event.gameState = "LOADING";
+                event.commit();
+            }
+            return;
+        }
+        FrameSnapshot frame = snapshots.latest();
+        double interpolation = getInterpolation(frame);
+        switch (frame.gameState) {
             case GAME_STATE_START:
-                startScreen(g);
+                startScreen(g, frame, interpolation);
                 break;
             case GAME_STATE_INTRO:
-                introScreen(g);
+                introScreen(g, frame, interpolation);
                 break;
             case GAME_STATE_IN_PROGRESS:
-                inProgressScreen(g);
+                inProgressScreen(g, frame, interpolation);
                 break;
             case GAME_STATE_OVER:
-                gameOverScreen(g);
+                gameOverScreen(g, frame, interpolation);
                 break;
             case GAME_STATE_PAUSED:
-                pausedScreen(g);
+                pausedScreen(g, frame, interpolation);
                 break;
             default:
                 break;
         }
+        if(event.shouldCommit()) {
+            event.renderMode = renderMode.name();
+            event.gameState = frame.gameState.name();
+            event.commit();
+        }
     }
 
-    private void drawDebugMenu(Graphics g) {
+    private void drawDebugMenu(Graphics g, FrameSnapshot frame) {
         g.setColor(Color.RED);
-        g.drawLine(0, GROUND_Y, getWidth(), GROUND_Y);
-        dino.drawHitbox(g);
-        eManager.drawHitbox(g);
-        sManager.drawHitbox(g);
-        String speedInfo = "SPEED_X: " + String.valueOf(Math.round(speedX * 1000D) / 1000D);
+        g.drawLine(0, GROUND_Y, SCREEN_WIDTH, GROUND_Y);
+        dino.drawHitbox(g, frame);
+        eManager.drawHitbox(g, frame);
+        sManager.drawHitbox(g, frame);
+        String speedInfo = "SPEED_X: " + String.valueOf(Math.round(frame.speedX * 1000D) / 1000D);
         g.drawString(speedInfo, (int)(SCREEN_WIDTH / 100), (int)(SCREEN_HEIGHT / 25));
-        
+
         // Show invincibility frames in debug mode
-        if(invincibilityFrames > 0) {
+        if(frame.invincibilityFrames > 0) {
             g.setColor(Color.YELLOW);
-            g.drawString("INVINCIBLE: " + invincibilityFrames, (int)(SCREEN_WIDTH / 100), (int)(SCREEN_HEIGHT / 25) + 20);
+            g.drawString("INVINCIBLE: " + frame.invincibilityFrames, (int)(SCREEN_WIDTH / 100), (int)(SCREEN_HEIGHT / 25) + 20);
         }
-        
+
         // Show rain timer in debug mode
-        if(rain.isRaining()) {
+        if(frame.raining) {
             g.setColor(Color.CYAN);
-            g.drawString("RAIN: " + (rainTimer / 100.0) + "s", (int)(SCREEN_WIDTH / 100), (int)(SCREEN_HEIGHT / 25) + 40);
+            g.drawString("RAIN: " + ((double)frame.rainTimer / TICKS_PER_SECOND) + "s", (int)(SCREEN_WIDTH / 100), (int)(SCREEN_HEIGHT / 25) + 40);
         }
-        
+
         // Show next rain score in debug mode
         g.setColor(Color.MAGENTA);
-        g.drawString("NEXT RAIN: " + nextRainScore, (int)(SCREEN_WIDTH / 100), (int)(SCREEN_HEIGHT / 25) + 60);
-    }
+        g.drawString("NEXT RAIN: " + frame.nextRainScore, (int)(SCREEN_WIDTH / 100), (int)(SCREEN_HEIGHT / 25) + 60);
 
-    private void startScreen(Graphics g) {
-        land.draw(g);
-        dino.draw(g);
-        BufferedImage introImage = getImage("resources/intro-text.png");
-        Graphics2D g2d = (Graphics2D)g;
-        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, introCountdown / 1000f));
-        g2d.drawImage(introImage, SCREEN_WIDTH / 2 - introImage.getWidth() / 2, SCREEN_HEIGHT / 2 - introImage.getHeight(), null);
-        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1f));
-    }
+        // frames drawn vs frames the loop asked for, passive mode loses some to repaint coalescing
+        g.setColor(Color.BLUE);
+        g.drawString("FRAMES (" + renderMode + "): " + presentedFrames + " / " + requestedFrames, SCREEN_WIDTH / 100, SCREEN_HEIGHT / 25 + 80);
 
-    private void introScreen(Graphics g) {
-        clouds.draw(g);
-        startScreen(g);
-    }
+        drawPacer(g, "TICK PACER", tickPacer, SCREEN_HEIGHT / 25 + 100);
+        drawPacer(g, "FRAME PACER", framePacer, SCREEN_HEIGHT / 25 + 120);
 
-    private void inProgressScreen(Graphics g) {
-        clouds.draw(g);
-        land.draw(g);
-        sManager.draw(g); // Draw shields before enemies
-        eManager.draw(g);
-        dino.draw(g);
-        score.draw(g);
-        rain.draw(g); // Draw rain on top of everything
-        rain.drawVignette(g); // Draw vignette effect last
-        if(showHitboxes)
-            drawDebugMenu(g);
-    }
+        // after startup every lookup should be a hit
+        g.drawString("IMAGES: " + Resource.getImageHits() + " hits, " + Resource.getImageMisses() + " misses, "
+                + Resource.getImageLoadNanos() / 1_000_000 + "ms loading", SCREEN_WIDTH / 100, SCREEN_HEIGHT / 25 + 140);
+
+        g.setColor(Color.BLUE);
+        g.drawString("STARTUP: first frame " + firstFrameMillis + "ms, interactive " + interactiveMillis + "ms, assets "
+                + assets.getLoadNanos() / 1_000_000 + "ms on " + assets.getThreadCount() + " threads" + (assets.usedPack() ? " (pack)" : ""), SCREEN_WIDTH / 100, SCREEN_HEIGHT / 25 + 160);
 
-    private void gameOverScreen(Graphics g) {
-        inProgressScreen(g);
-        BufferedImage gameOverImage = getImage("resources/game-over.png");
-        BufferedImage replayImage = getImage("resources/replay.png");
-        g.drawImage(gameOverImage, SCREEN_WIDTH / 2 - gameOverImage.getWidth() / 2, SCREEN_HEIGHT / 2 - gameOverImage.getHeight() * 2, null);
-        g.drawImage(replayImage, SCREEN_WIDTH / 2 - replayImage.getWidth() / 2, SCREEN_HEIGHT / 2, null);
+        AudioEngine audio = AudioEngine.get();
+        g.drawString("AUDIO: " + (audio.isAvailable() ? audio.getActiveVoices() + "/" + audio.getMaxVoices() + " voices, latency p50 "
+                + audio.getLatency().getPercentile(50) / 1000 + "us p99 " + audio.getLatency().getPercentile(99) / 1000 + "us, underruns "
+                + audio.getUnderruns() + ", stolen " + audio.getStolenVoices() : "no output"), SCREEN_WIDTH / 100, SCREEN_HEIGHT / 25 + 180);
+
+        drawFrameTimes(g);
     }
 
-    private void pausedScreen(Graphics g) {
-        inProgressScreen(g);
-        BufferedImage pausedImage = getImage("resources/paused.png");
-        g.drawImage(pausedImage, SCREEN_WIDTH / 2 - pausedImage.getWidth() / 2, SCREEN_HEIGHT / 2 - pausedImage.getHeight(), null);
+    private void drawPacer(Graphics g, String name, FramePacer pacer, int y) {
+        Histogram overshoot = pacer.getOvershoot();
+        g.drawString(name + " (" + pacer.getMode() + "): late p99 " + overshoot.getPercentile(99) / 1000 + "us, max " + overshoot.getMax() / 1000
+                + "us, missed " + pacer.getMissedDeadlines() + ", spin " + pacer.spinNanos() / 1000 + "us", SCREEN_WIDTH / 100, y);
     }
 
-    public void pressUpAction() {
-        if(gameState == GameState.GAME_STATE_IN_PROGRESS) {
-            dino.jump();
-            dino.setDinoState(DinoState.DINO_JUMP);
+    // p50 / p99 / max of every phase in microseconds since the game started
+    private void drawFrameTimes(Graphics g) {
+        int x = SCREEN_WIDTH * 2 / 5;
+        int y = SCREEN_HEIGHT / 25;
+        g.setColor(Color.DARK_GRAY);
+        g.drawString("PHASE  p50 / p99 / max (us)", x, y);
+        for(Phase phase : Phase.values()) {
+            y += 14;
+            Histogram histogram = profiler.get(phase);
+            g.drawString(phase + ": " + histogram.getPercentile(50) / 1000 + " / " + histogram.getPercentile(99) / 1000 + " / "
+                    + histogram.getMax() / 1000, x, y);
         }
     }
 
-    public void releaseUpAction() {
-        if(gameState == GameState.GAME_STATE_START)
-            gameState = GameState.GAME_STATE_INTRO;
-        if(gameState == GameState.GAME_STATE_OVER) {
-            speedX = STARTING_SPEED_X;
-            score.scoreReset();
-            eManager.clearEnemy();
-            sManager.clearShields();
-            dino.resetDino();
-            clouds.clearClouds();
-            land.resetLand();
-            rain.setRaining(false);
-            nextRainScore = RAIN_FIRST_SCORE; // Reset rain milestone
-            rainTimer = 0;
-            invincibilityFrames = 0; // Reset invincibility
-            gameState = GameState.GAME_STATE_IN_PROGRESS;
-        }
+    // drawn until the assets are in, a bar where the intro text will be
+    private void loadingScreen(Graphics g) {
+        int x = SCREEN_WIDTH / 2 - LOADING_BAR_WIDTH / 2;
+        int y = SCREEN_HEIGHT / 2 - LOADING_BAR_HEIGHT;
+        g.setColor(new Color(218, 218, 218));
+        g.fillRect(x, y, LOADING_BAR_WIDTH, LOADING_BAR_HEIGHT);
+        g.setColor(new Color(83, 83, 83));
+        g.fillRect(x, y, (int)(LOADING_BAR_WIDTH * assets.getProgress()), LOADING_BAR_HEIGHT);
     }
 
-    public void pressDownAction() {
-        if(dino.getDinoState() != DinoState.DINO_JUMP && gameState == GameState.GAME_STATE_IN_PROGRESS)
-            dino.setDinoState(DinoState.DINO_DOWN_RUN);
+    private void startScreen(Graphics g, FrameSnapshot frame, double interpolation) {
+        land.draw(g, frame, interpolation);
+        dino.draw(g, frame, interpolation);
+        Graphics2D g2d = (Graphics2D)g;
+        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, Math.max(frame.introCountdown, 0) / 1000f));
+        introPanel.draw(g2d, SCREEN_WIDTH / 2 - introPanel.getWidth() / 2, SCREEN_HEIGHT / 2 - introPanel.getHeight());
+        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1f));
     }
 
-    public void releaseDownAction() {
-        if(dino.getDinoState() != DinoState.DINO_JUMP && gameState == GameState.GAME_STATE_IN_PROGRESS)
-            dino.setDinoState(DinoState.DINO_RUN);
+    private void introScreen(Graphics g, FrameSnapshot frame, double interpolation) {
+        clouds.draw(g, frame, interpolation);
+        startScreen(g, frame, interpolation);
     }
 
-    public void pressDebugAction() {
-        if(showHitboxes == false)
-            showHitboxes = true;
-        else
-            showHitboxes = false;
-        if(collisions == true)
-            collisions = false;
-        else
-            collisions = true;
+    private void inProgressScreen(Graphics g, FrameSnapshot frame, double interpolation) {
+        clouds.draw(g, frame, interpolation);
+        land.draw(g, frame, interpolation);
+        sManager.draw(g, frame, interpolation); // Draw shields before enemies
+        eManager.draw(g, frame, interpolation);
+        dino.draw(g, frame, interpolation);
+        score.draw(g, frame);
+        rain.draw(g, frame, interpolation); // Draw rain on top of everything
+        rain.drawVignette(g, frame); // Draw vignette effect last
+        if(frame.showHitboxes)
+            drawDebugMenu(g, frame);
     }
 
-    public void pressPauseAction() {
-        if(gameState == GameState.GAME_STATE_IN_PROGRESS) {
-            gameState = GameState.GAME_STATE_PAUSED;
-            rain.pause(); // Pause rain sound
-            bgmManager.pause();
-        } else if(gameState == GameState.GAME_STATE_PAUSED) {
-            gameState = GameState.GAME_STATE_IN_PROGRESS;
-            rain.resume(); // Resume rain sound
-            bgmManager.resume();
-        }
+    private void gameOverScreen(Graphics g, FrameSnapshot frame, double interpolation) {
+        inProgressScreen(g, frame, interpolation);
+        gameOverPanel.draw(g, SCREEN_WIDTH / 2 - gameOverPanel.getWidth() / 2, SCREEN_HEIGHT / 2 - (gameOverPanel.getHeight() - Region.REPLAY.height));
+    }
+
+    private void pausedScreen(Graphics g, FrameSnapshot frame, double interpolation) {
+        inProgressScreen(g, frame, interpolation);
+        pausedPanel.draw(g, SCREEN_WIDTH / 2 - pausedPanel.getWidth() / 2, SCREEN_HEIGHT / 2 - pausedPanel.getHeight());
     }
 
 }
@@ -1,13 +1,15 @@
 package user_interface;
 import javax.swing.JFrame;
+
+import simulation.Simulation;
 @SuppressWarnings(value = { "serial" })
 public class GameWindow extends JFrame {
         
-        public static final int SCREEN_WIDTH = 1200;
-        public static final int SCREEN_HEIGHT = 300;
+        public static final int SCREEN_WIDTH = Simulation.SCREEN_WIDTH;
+        public static final int SCREEN_HEIGHT = Simulation.SCREEN_HEIGHT;
         private GameScreen gameScreen;
         
-        public GameWindow() {
+        public GameWindow(LaunchOptions options) {
                 super("Dino");
                 setSize(SCREEN_WIDTH, SCREEN_HEIGHT);
                 setResizable(false);
@@ -15,7 +17,7 @@ public class GameWindow extends JFrame {
                 setUndecorated(true);
                 setLocationRelativeTo(null);
                 
-                gameScreen = new GameScreen();
+                gameScreen = new GameScreen(options);
                 add(gameScreen);
         }
         
@@ -24,9 +26,10 @@ public class GameWindow extends JFrame {
         }
         
         public static void main(String[] args) {
-                GameWindow gameWindow = new GameWindow();
-                gameWindow.startGame();
+                GameWindow gameWindow = new GameWindow(LaunchOptions.parse(args));
+                // window first, assets finish loading behind the loading bar
                 gameWindow.setVisible(true);
+                gameWindow.startGame();
         }
         
 }
@@ -0,0 +1,87 @@
+package user_interface;
+
+import java.io.File;
+
+import misc.PacingMode;
+import misc.RenderMode;
+
+// command line options of the game window
+public class LaunchOptions {
+
+    private RenderMode renderMode = RenderMode.PASSIVE;
+    private PacingMode pacingMode = PacingMode.HYBRID;
+    // null means random seed
+    private Long seed = null;
+    private File recordFile = null;
+    private File replayFile = null;
+    private File frameTimesFile = null;
+    // null means the normal amount of rain
+    private Integer rainDrops = null;
+
+    public static LaunchOptions parse(String[] args) {
+        LaunchOptions options = new LaunchOptions();
+        for(int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                // draws from the render thread with a buffer strategy instead of swing repaint
+                case "--active":
+                    options.renderMode = RenderMode.ACTIVE;
+                    break;
+                // sleep or hybrid, how the game loop waits for the next frame
+                case "--pacer":
+                    options.pacingMode = PacingMode.valueOf(args[++i].toUpperCase());
+                    break;
+                case "--seed":
+                    options.seed = Long.parseLong(args[++i]);
+                    break;
+                // saves seed and input every game over so the run can be replayed
+                case "--record":
+                    options.recordFile = new File(args[++i]);
+                    break;
+                case "--replay":
+                    options.replayFile = new File(args[++i]);
+                    break;
+                // per phase frame timings written as csv when the game exits
+                case "--frame-times":
+                    options.frameTimesFile = new File(args[++i]);
+                    break;
+                // drops on screen while it rains, thousands make a storm
+                case "--rain-drops":
+                    options.rainDrops = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    break;
+            }
+        }
+        return options;
+    }
+
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    public PacingMode getPacingMode() {
+        return pacingMode;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public File getRecordFile() {
+        return recordFile;
+    }
+
+    public File getReplayFile() {
+        return replayFile;
+    }
+
+    public File getFrameTimesFile() {
+        return frameTimesFile;
+    }
+
+    public Integer getRainDrops() {
+        return rainDrops;
+    }
+
+}
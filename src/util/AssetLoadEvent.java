@@ -0,0 +1,26 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// reading and decoding an image or sound from the jar or disk, or copying it out of the asset pack
+@Name("dino.AssetLoad")
+@Label("Asset Load")
+@Category({ "Dino", "Assets" })
+public class AssetLoadEvent extends Event {
+
+    @Label("Path")
+    public String path;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Loaded")
+    public boolean loaded;
+
+    @Label("From Asset Pack")
+    public boolean packed;
+
+}
@@ -0,0 +1,94 @@
+package util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// decodes every image and sound side by side on a small pool, so the window can be up and drawing while it happens
+public class AssetLoader {
+
+    private final ExecutorService pool;
+    private final int threads;
+    private final int total;
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final CompletableFuture<Void> done;
+    private final long startTime = System.nanoTime();
+    private volatile long loadNanos = -1;
+    private volatile boolean usedPack = false;
+
+    public AssetLoader() {
+        File packFile = AssetPack.getFile();
+        AssetPack pack = AssetPack.open(packFile, Resource.getImagePaths(), Resource.getSoundPaths());
+        Resource.usePack(pack);
+        List<Runnable> tasks = Resource.preloadTasks();
+        total = tasks.size();
+        AtomicInteger threadCount = new AtomicInteger();
+        // decoding is cpu bound, more threads than cores only fight each other
+        threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Assets-" + threadCount.incrementAndGet());
+            // must not keep the game alive if the window closes mid load
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[total];
+        for(int i = 0; i < total; i++) {
+            Runnable task = tasks.get(i);
+            futures[i] = CompletableFuture.runAsync(() -> {
+                task.run();
+                loaded.incrementAndGet();
+            }, pool);
+        }
+        done = CompletableFuture.allOf(futures).whenComplete((result, error) -> {
+            loadNanos = System.nanoTime() - startTime;
+            usedPack = pack != null;
+            // first launch or changed files, save what was just decoded so the next launch can skip it
+            // the game doesn't wait for this
+            if(pack == null && error == null)
+                pool.execute(() -> writePack(packFile));
+            pool.shutdown();
+        });
+    }
+
+    // blocks until every asset is decoded
+    public void await() {
+        done.join();
+    }
+
+    public boolean isDone() {
+        return done.isDone();
+    }
+
+    // 0..1
+    public float getProgress() {
+        return total == 0 ? 1f : (float)loaded.get() / total;
+    }
+
+    public int getThreadCount() {
+        return threads;
+    }
+
+    private static void writePack(File file) {
+        try {
+            AssetPack.write(file, Resource.getImagePaths(), Resource.getSoundPaths());
+        } catch (IOException e) {
+            System.err.println("Failed to write asset pack: " + file);
+            e.printStackTrace();
+        }
+    }
+
+    // whether the assets came out of the pack instead of being decoded
+    public boolean usedPack() {
+        return usedPack;
+    }
+
+    // -1 until done
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+}
@@ -0,0 +1,245 @@
+package util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sound.sampled.AudioFormat;
+
+// every image and sound already decoded, in one file that later launches map instead of decoding pngs and wavs again
+// written after the first launch loaded everything the slow way, rebuilt whenever a source file changes
+//
+// layout, big endian like DataOutputStream writes it:
+//   header  magic, version, stamp of the source files, entry count, data start
+//   index   per entry: kind, path, image width/height or audio format, data offset and length
+//   data    argb ints per image, pcm bytes per sound, each 8 byte aligned
+public class AssetPack {
+
+    private static final String FILE_NAME = "assets.pack";
+    private static final int MAGIC = 0x44494E4F; // DINO
+    private static final int VERSION = 1;
+    private static final byte IMAGE = 0;
+    private static final byte SOUND = 1;
+    private static final int HEADER_SIZE = 28;
+
+    private final Map<String, Entry> entries = new HashMap<String, Entry>();
+    private final MappedByteBuffer data;
+
+    private static class Entry {
+        byte kind;
+        int width;
+        int height;
+        AudioFormat format;
+        long offset;
+        int length;
+    }
+
+    private AssetPack(MappedByteBuffer data) {
+        this.data = data;
+    }
+
+    // next to the scores, like Score does it
+    public static File getFile() {
+        if(Resource.isJar())
+            return new File(System.getProperty("user.dir") + "/" + FILE_NAME);
+        return new File("resources/" + FILE_NAME);
+    }
+
+    // null when there is no pack yet or it was built from different files
+    public static AssetPack open(File file, List<String> imagePaths, List<String> soundPaths) {
+        if(!file.exists())
+            return null;
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // stays valid after the channel is closed
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(data.getInt() != MAGIC || data.getInt() != VERSION || data.getLong() != stamp(imagePaths, soundPaths))
+                return null;
+            AssetPack pack = new AssetPack(data);
+            int count = data.getInt();
+            long dataStart = data.getLong();
+            for(int i = 0; i < count; i++) {
+                Entry entry = new Entry();
+                entry.kind = data.get();
+                String path = readUTF(data);
+                if(entry.kind == IMAGE) {
+                    entry.width = data.getInt();
+                    entry.height = data.getInt();
+                } else {
+                    entry.format = new AudioFormat(new AudioFormat.Encoding(readUTF(data)), data.getFloat(), data.getInt(),
+                            data.getInt(), data.getInt(), data.getFloat(), data.get() != 0);
+                }
+                entry.offset = dataStart + data.getLong();
+                entry.length = data.getInt();
+                pack.entries.put(path, entry);
+            }
+            return pack;
+        } catch (Exception e) {
+            // broken or truncated pack, the next launch writes a new one
+            System.err.println("Ignoring asset pack: " + file);
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // copies the pixels out with one bulk get, no png decoding
+    public BufferedImage getImage(String path) {
+        Entry entry = entries.get(path);
+        if(entry == null || entry.kind != IMAGE)
+            return null;
+        BufferedImage image = new BufferedImage(entry.width, entry.height, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+        slice(entry).asIntBuffer().get(pixels);
+        return image;
+    }
+
+    public AudioFormat getSoundFormat(String path) {
+        Entry entry = entries.get(path);
+        return entry == null || entry.kind != SOUND ? null : entry.format;
+    }
+
+    public byte[] getSoundData(String path) {
+        Entry entry = entries.get(path);
+        if(entry == null || entry.kind != SOUND)
+            return null;
+        byte[] samples = new byte[entry.length];
+        slice(entry).get(samples);
+        return samples;
+    }
+
+    private ByteBuffer slice(Entry entry) {
+        // duplicate so threads reading different entries don't share a position
+        ByteBuffer buffer = data.duplicate();
+        buffer.position((int)entry.offset).limit((int)entry.offset + entry.length);
+        return buffer.slice();
+    }
+
+    // writes everything Resource has decoded for the paths, to a temp file first so a crash never leaves half a pack behind
+    public static void write(File file, List<String> imagePaths, List<String> soundPaths) throws IOException {
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream index = new DataOutputStream(indexBytes);
+        List<int[]> images = new ArrayList<int[]>();
+        List<byte[]> sounds = new ArrayList<byte[]>();
+        int count = 0;
+        long offset = 0;
+        for(String path : imagePaths) {
+            BufferedImage image = Resource.getImage(path);
+            if(image == null)
+                continue;
+            int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+            index.writeByte(IMAGE);
+            index.writeUTF(path);
+            index.writeInt(image.getWidth());
+            index.writeInt(image.getHeight());
+            index.writeLong(offset);
+            index.writeInt(pixels.length * 4);
+            images.add(pixels);
+            offset += align(pixels.length * 4);
+            count++;
+        }
+        for(String path : soundPaths) {
+            AudioFormat format = Resource.getSoundFormat(path);
+            byte[] samples = Resource.getSoundData(path);
+            if(format == null)
+                continue;
+            index.writeByte(SOUND);
+            index.writeUTF(path);
+            index.writeUTF(format.getEncoding().toString());
+            index.writeFloat(format.getSampleRate());
+            index.writeInt(format.getSampleSizeInBits());
+            index.writeInt(format.getChannels());
+            index.writeInt(format.getFrameSize());
+            index.writeFloat(format.getFrameRate());
+            index.writeBoolean(format.isBigEndian());
+            index.writeLong(offset);
+            index.writeInt(samples.length);
+            sounds.add(samples);
+            offset += align(samples.length);
+            count++;
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            long dataStart = align(HEADER_SIZE + indexBytes.size());
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(stamp(imagePaths, soundPaths));
+            out.writeInt(count);
+            out.writeLong(dataStart);
+            indexBytes.writeTo(out);
+            pad(out, dataStart - HEADER_SIZE - indexBytes.size());
+            for(int[] pixels : images) {
+                ByteBuffer bytes = ByteBuffer.allocate(pixels.length * 4);
+                bytes.asIntBuffer().put(pixels);
+                out.write(bytes.array());
+                pad(out, align(pixels.length * 4) - pixels.length * 4);
+            }
+            for(byte[] samples : sounds) {
+                out.write(samples);
+                pad(out, align(samples.length) - samples.length);
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // size and modification time of every source file, cheap to get without decoding anything
+    private static long stamp(List<String> imagePaths, List<String> soundPaths) throws IOException {
+        List<String> paths = new ArrayList<String>(imagePaths);
+        paths.addAll(soundPaths);
+        long stamp = 17;
+        for(String path : paths) {
+            long length = -1;
+            long modified = -1;
+            URL url = Resource.class.getClassLoader().getResource(path);
+            if(url != null) {
+                URLConnection connection = url.openConnection();
+                length = connection.getContentLengthLong();
+                modified = connection.getLastModified();
+                // jar connections keep the jar open otherwise
+                connection.getInputStream().close();
+            } else {
+                File file = new File(path);
+                if(file.exists()) {
+                    length = file.length();
+                    modified = file.lastModified();
+                }
+            }
+            stamp = stamp * 31 + path.hashCode();
+            stamp = stamp * 31 + length;
+            stamp = stamp * 31 + modified;
+        }
+        return stamp;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private static void pad(DataOutputStream out, long count) throws IOException {
+        for(long i = 0; i < count; i++)
+            out.write(0);
+    }
+
+    // what DataOutputStream.writeUTF wrote, fine for the plain ascii paths and encoding names in here
+    private static String readUTF(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,125 @@
+package util;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
+
+import simulation.Sprite;
+
+// all-sprites.png as one texture with named regions, drawing a region is a blit straight from the sheet
+// so there are no sub images and no per frame allocation, things not on the sheet fall back to their own png
+public class Atlas {
+
+    // positions found by matching the single PNGs against the sheet, a few anti aliased pixels differ at most
+    // cactus 8 and 9, game over text, intro text, land and shield are not on the sheet (or differ) and stay separate
+    public enum Region {
+
+        REPLAY(2, 2, 72, 64),
+        CLOUD(166, 2, 92, 27),
+        BIRD_FLY_1(Sprite.BIRD_FLY_1, 260, 14),
+        BIRD_FLY_2(Sprite.BIRD_FLY_2, 352, 2),
+        CACTUS_1(Sprite.CACTUS_1, 446, 2),
+        CACTUS_2(Sprite.CACTUS_2, 514, 2),
+        CACTUS_3(Sprite.CACTUS_3, 582, 2),
+        CACTUS_4(Sprite.CACTUS_4, 616, 2),
+        CACTUS_5(Sprite.CACTUS_5, 652, 2),
+        CACTUS_6(Sprite.CACTUS_6, 702, 2),
+        CACTUS_7(Sprite.CACTUS_7, 752, 2),
+        DIGIT_0(1293, 2, 20, 21),
+        DIGIT_1(1313, 2, 20, 21),
+        DIGIT_2(1333, 2, 20, 21),
+        DIGIT_3(1353, 2, 20, 21),
+        DIGIT_4(1373, 2, 20, 21),
+        DIGIT_5(1393, 2, 20, 21),
+        DIGIT_6(1413, 2, 20, 21),
+        DIGIT_7(1433, 2, 20, 21),
+        DIGIT_8(1453, 2, 20, 21),
+        DIGIT_9(1473, 2, 20, 21),
+        HI(1494, 2, 38, 21),
+        DINO_JUMP(Sprite.DINO_JUMP, 1678, 2),
+        DINO_RUN_1(Sprite.DINO_RUN_1, 1854, 2),
+        DINO_RUN_2(Sprite.DINO_RUN_2, 1942, 2),
+        DINO_DEAD(Sprite.DINO_DEAD, 2030, 2),
+        DINO_DOWN_RUN_1(Sprite.DINO_DOWN_RUN_1, 2203, 36),
+        DINO_DOWN_RUN_2(Sprite.DINO_DOWN_RUN_2, 2321, 36);
+
+        private final Sprite sprite;
+        public final int x;
+        public final int y;
+        public final int width;
+        public final int height;
+
+        private Region(int x, int y, int width, int height) {
+            this(null, x, y, width, height);
+        }
+
+        private Region(Sprite sprite, int x, int y) {
+            this(sprite, x, y, sprite.getWidth(), sprite.getHeight());
+        }
+
+        private Region(Sprite sprite, int x, int y, int width, int height) {
+            this.sprite = sprite;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        public static Region digit(int digit) {
+            return values()[DIGIT_0.ordinal() + digit];
+        }
+
+    }
+
+    private static final Map<Sprite, Region> SPRITE_REGIONS = new EnumMap<Sprite, Region>(Sprite.class);
+    static {
+        for(Region region : Region.values())
+            if(region.sprite != null)
+                SPRITE_REGIONS.put(region.sprite, region);
+    }
+
+    // one sheet for the whole process, built the first time someone draws
+    private static class Holder {
+        private static final Atlas ATLAS = new Atlas();
+    }
+
+    private final BufferedImage sheet;
+
+    public static Atlas get() {
+        return Holder.ATLAS;
+    }
+
+    private Atlas() {
+        // sheet is a 4 bit palette png, java2d has no fast path for those so it is converted once
+        BufferedImage indexed = Resource.getImage(Resource.ALL_SPRITES);
+        sheet = Resource.toCompatible(indexed, 0, 0, indexed.getWidth(), indexed.getHeight(), indexed.getWidth(), indexed.getHeight(), false);
+    }
+
+    // region as its own compatible image at width x height, for things always drawn scaled
+    public BufferedImage scaled(Region region, int width, int height) {
+        return Resource.toCompatible(sheet, region.x, region.y, region.width, region.height, width, height, false);
+    }
+
+    // null when the sprite has its own png
+    public static Region region(Sprite sprite) {
+        return SPRITE_REGIONS.get(sprite);
+    }
+
+    public void draw(Graphics g, Region region, int x, int y) {
+        draw(g, region, x, y, region.width, region.height);
+    }
+
+    public void draw(Graphics g, Region region, int x, int y, int width, int height) {
+        g.drawImage(sheet, x, y, x + width, y + height, region.x, region.y, region.x + region.width, region.y + region.height, null);
+    }
+
+    public void draw(Graphics g, Sprite sprite, int x, int y) {
+        Region region = region(sprite);
+        if(region != null)
+            draw(g, region, x, y);
+        else
+            g.drawImage(Resource.getImage(sprite), x, y, null);
+    }
+
+}
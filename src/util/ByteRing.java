@@ -0,0 +1,89 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// single producer single consumer ring of bytes for streaming audio, a decoder thread writes ahead and the player
+// takes from it without ever blocking, same lazySet publishing as TimestampedEventQueue
+public class ByteRing {
+
+    // how long a writer with a full ring sleeps before looking again, the ring holds far more than this
+    private static final long FULL_WAIT_NANOS = 2_000_000;
+
+    private final byte[] buffer;
+    private final int mask;
+    // next byte to read, consumer side
+    private final AtomicLong head = new AtomicLong();
+    // next byte to write, producer side
+    private final AtomicLong tail = new AtomicLong();
+    // producer wrote its last byte
+    private volatile boolean finished = false;
+
+    // capacity is rounded up to a power of two
+    public ByteRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        buffer = new byte[size];
+        mask = size - 1;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    // producer, copies all of src in, waiting while the ring is full, false when interrupted first
+    public boolean write(byte[] src, int offset, int length) {
+        while(length > 0) {
+            long t = tail.get();
+            int free = buffer.length - (int)(t - head.get());
+            if(free == 0) {
+                LockSupport.parkNanos(FULL_WAIT_NANOS);
+                if(Thread.currentThread().isInterrupted())
+                    return false;
+                continue;
+            }
+            int count = Math.min(free, length);
+            copy(src, offset, buffer, (int)t & mask, count, true);
+            tail.lazySet(t + count);
+            offset += count;
+            length -= count;
+        }
+        return true;
+    }
+
+    // producer, nothing more is coming
+    public void finish() {
+        finished = true;
+    }
+
+    // consumer, bytes that can be read right now
+    public int available() {
+        return (int)(tail.get() - head.get());
+    }
+
+    // consumer, true once everything written was read and the producer finished
+    public boolean isDrained() {
+        // finished first, tail read after it is the final one
+        return finished && tail.get() == head.get();
+    }
+
+    // consumer, takes exactly length bytes, which must not be more than available()
+    public void read(byte[] dst, int offset, int length) {
+        long h = head.get();
+        copy(buffer, (int)h & mask, dst, offset, length, false);
+        head.lazySet(h + length);
+    }
+
+    // copy that wraps around the end of the ring on the ring side
+    private void copy(byte[] src, int srcPos, byte[] dst, int dstPos, int length, boolean intoRing) {
+        int ringPos = intoRing ? dstPos : srcPos;
+        int first = Math.min(length, buffer.length - ringPos);
+        System.arraycopy(src, srcPos, dst, dstPos, first);
+        if(first < length) {
+            if(intoRing)
+                System.arraycopy(src, srcPos + first, dst, 0, length - first);
+            else
+                System.arraycopy(src, 0, dst, dstPos + first, length - first);
+        }
+    }
+
+}
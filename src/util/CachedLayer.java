@@ -0,0 +1,64 @@
+package util;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+// an overlay that hardly ever changes (vignette, game over panel...) painted once into a translucent compatible image
+// and from then on only blitted, java2d keeps such images in vram where it can, so a frame pays for a copy and not
+// for gradients or several images, painted again on the next draw after invalidate()
+// painted on whichever thread draws it first, only one thread draws at a time
+public class CachedLayer {
+
+    private final int width;
+    private final int height;
+    private final Consumer<Graphics2D> painter;
+    private BufferedImage image;
+    private boolean valid = false;
+
+    // painter draws the layer into a width x height image starting at (0, 0)
+    public CachedLayer(int width, int height, Consumer<Graphics2D> painter) {
+        this.width = width;
+        this.height = height;
+        this.painter = painter;
+    }
+
+    // wrapping a single image, converted once so blitting it needs no conversion
+    public CachedLayer(BufferedImage image) {
+        this(image.getWidth(), image.getHeight(), g -> g.drawImage(image, 0, 0, null));
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    // call when something the painter draws from changed, the image is kept and repainted
+    public void invalidate() {
+        valid = false;
+    }
+
+    public void draw(Graphics g, int x, int y) {
+        if(!valid)
+            paint();
+        g.drawImage(image, x, y, null);
+    }
+
+    private void paint() {
+        if(image == null)
+            image = Resource.createCompatibleImage(width, height);
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+        painter.accept(g);
+        g.dispose();
+        valid = true;
+    }
+
+}
@@ -0,0 +1,98 @@
+package util;
+
+import java.util.concurrent.locks.LockSupport;
+
+import misc.PacingMode;
+
+// waits for the next frame deadline
+// park is cheap but wakes up late by the os timer slack, so hybrid mode parks until the slack before the deadline
+// and spins the rest, slack is learned from how late parks actually were
+public class FramePacer {
+
+    // never trust the os more than this, never spin longer than that
+    private static final long MIN_SPIN_NS = 50_000;
+    private static final long MAX_SPIN_NS = 2_000_000;
+    // how fast the slack estimate forgets an old late wake up, 1/64 per park
+    private static final int SLACK_DECAY_SHIFT = 6;
+
+    private final PacingMode mode;
+    private long parkSlack = MIN_SPIN_NS;
+    private long missedDeadlines = 0;
+    private final Histogram overshoot = new Histogram();
+
+    public FramePacer(PacingMode mode) {
+        this.mode = mode;
+    }
+
+    // returns how many ns after the deadline we actually woke up, 0 if we were on time
+    public long waitUntil(long deadline) {
+        long now = System.nanoTime();
+        if(now >= deadline)
+            missedDeadlines++;
+        switch (mode) {
+            case SLEEP:
+                now = sleep(deadline, now);
+                break;
+            case HYBRID:
+                now = parkAndSpin(deadline, now);
+                break;
+            default:
+                break;
+        }
+        long late = Math.max(now - deadline, 0);
+        overshoot.record(late);
+        return late;
+    }
+
+    // old behaviour: whole milliseconds and always at least one, even when already late
+    private long sleep(long deadline, long now) {
+        int waitingTime = (int)((deadline - now) / 1_000_000);
+        if(waitingTime < 0)
+            waitingTime = 1;
+        try {
+            Thread.sleep(waitingTime);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+        return System.nanoTime();
+    }
+
+    private long parkAndSpin(long deadline, long now) {
+        while(deadline - now > spinNanos()) {
+            long requested = deadline - now - spinNanos();
+            LockSupport.parkNanos(requested);
+            long woke = System.nanoTime();
+            learnSlack(woke - now - requested);
+            now = woke;
+        }
+        while(now < deadline) {
+            Thread.onSpinWait();
+            now = System.nanoTime();
+        }
+        return now;
+    }
+
+    private void learnSlack(long late) {
+        if(late > parkSlack)
+            parkSlack = Math.min(late, MAX_SPIN_NS);
+        else
+            parkSlack -= (parkSlack - late) >> SLACK_DECAY_SHIFT;
+    }
+
+    public long spinNanos() {
+        return Math.max(parkSlack, MIN_SPIN_NS);
+    }
+
+    public PacingMode getMode() {
+        return mode;
+    }
+
+    public long getMissedDeadlines() {
+        return missedDeadlines;
+    }
+
+    public Histogram getOvershoot() {
+        return overshoot;
+    }
+
+}
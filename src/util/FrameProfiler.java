@@ -0,0 +1,45 @@
+package util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// nanosecond timings of every part of a frame, one histogram per phase
+// each phase is only ever recorded from one thread: the game thread up to TICK_OVERSHOOT, the render thread
+// (or the EDT for PAINT in passive mode) after that
+public class FrameProfiler {
+
+    public enum Phase {
+        INPUT, DINO, ENEMIES, SHIELDS, COLLISIONS, TICK, LAND, CLOUDS, RAIN, SNAPSHOT, TICK_OVERSHOOT, PAINT, FRAME, SLEEP_OVERSHOOT;
+    }
+
+    private final Histogram[] histograms;
+
+    public FrameProfiler() {
+        histograms = new Histogram[Phase.values().length];
+        for(int i = 0; i < histograms.length; i++)
+            histograms[i] = new Histogram();
+    }
+
+    public void record(Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    public Histogram get(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    // one line per phase, times in microseconds
+    public void writeCsv(File file) throws IOException {
+        try(PrintWriter out = new PrintWriter(file)) {
+            out.println("phase,count,mean_us,p50_us,p90_us,p99_us,p99.9_us,max_us");
+            for(Phase phase : Phase.values()) {
+                Histogram histogram = get(phase);
+                out.printf("%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f%n", phase, histogram.getCount(), histogram.getMean() / 1000,
+                        histogram.getPercentile(50) / 1000.0, histogram.getPercentile(90) / 1000.0, histogram.getPercentile(99) / 1000.0,
+                        histogram.getPercentile(99.9) / 1000.0, histogram.getMax() / 1000.0);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package util;
+
+import java.util.Arrays;
+
+// log-linear histogram of nanosecond durations in the spirit of HdrHistogram, about 3% precision,
+// fixed size and no allocation when recording so it can sit in the game loop
+public class Histogram {
+
+    // 2^SUB_BITS buckets per power of two
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    // values above ~2 minutes land in the last bucket
+    private static final long MAX_VALUE = 1L << 37;
+    private static final int BUCKETS = indexOf(MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long total = 0;
+    private long max = 0;
+
+    private static int indexOf(long value) {
+        if(value < SUB_COUNT * 2)
+            return (int)value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int)(value >>> shift) - SUB_COUNT;
+    }
+
+    // smallest value that falls into bucket
+    private static long valueOf(int index) {
+        if(index < SUB_COUNT * 2)
+            return index;
+        int shift = index / SUB_COUNT - 1;
+        return (long)(index % SUB_COUNT + SUB_COUNT) << shift;
+    }
+
+    public void record(long value) {
+        if(value < 0)
+            value = 0;
+        counts[indexOf(Math.min(value, MAX_VALUE))]++;
+        count++;
+        total += value;
+        if(value > max)
+            max = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double)total / count;
+    }
+
+    // percentile from 0 to 100
+    public long getPercentile(double percentile) {
+        if(count == 0)
+            return 0;
+        long rank = Math.max(1, (long)Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if(seen >= rank)
+                return Math.min(valueOf(i), max);
+        }
+        return max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+}
@@ -0,0 +1,20 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// drawing one frame, on the EDT in passive mode and on the "Render" thread (GameScreen.renderLoop) in active mode
+@Name("dino.Paint")
+@Label("Paint")
+@Category({ "Dino", "Game Loop" })
+public class PaintEvent extends Event {
+
+    @Label("Render Mode")
+    public String renderMode;
+
+    @Label("Game State")
+    public String gameState;
+
+}
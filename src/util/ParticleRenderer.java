@@ -0,0 +1,111 @@
+package util;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+// draws Particles as pre-rendered sprites into one translucent layer the size of the screen, then blits the layer
+// rain used to be two fillRects with an alpha composite per drop, ~9us a drop, so thousands of them ate the frame,
+// writing the pixels straight into an int array and handing java2d a single image is much cheaper
+// only for the thread that draws, the layer is reused every frame
+public class ParticleRenderer {
+
+    private static final int INITIAL_SPRITES = 8;
+
+    private final int width;
+    private final int height;
+    private final BufferedImage layer;
+    // premultiplied argb, same memory as layer
+    private final int[] pixels;
+    // rows written last frame, cleared before the next one
+    private int dirtyTop = 0;
+    private int dirtyBottom = 0;
+
+    private int spriteCount = 0;
+    private int[][] sprites = new int[INITIAL_SPRITES][];
+    // how much of what's under every sprite pixel stays, 0..256 so transparent keeps everything and opaque nothing
+    private int[][] keeps = new int[INITIAL_SPRITES][];
+    private int[] spriteWidth = new int[INITIAL_SPRITES];
+    private int[] spriteHeight = new int[INITIAL_SPRITES];
+
+    public ParticleRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        pixels = ((DataBufferInt)layer.getRaster().getDataBuffer()).getData();
+    }
+
+    // premultiplied argb pixels row by row, returns the index particles use to show it
+    public int addSprite(int[] argb, int width, int height) {
+        if(spriteCount == sprites.length) {
+            sprites = Arrays.copyOf(sprites, spriteCount * 2);
+            keeps = Arrays.copyOf(keeps, spriteCount * 2);
+            spriteWidth = Arrays.copyOf(spriteWidth, spriteCount * 2);
+            spriteHeight = Arrays.copyOf(spriteHeight, spriteCount * 2);
+        }
+        sprites[spriteCount] = argb.clone();
+        int[] keep = new int[argb.length];
+        for(int i = 0; i < argb.length; i++) {
+            int alpha = argb[i] >>> 24;
+            keep[i] = 256 - alpha - (alpha >> 7);
+        }
+        keeps[spriteCount] = keep;
+        spriteWidth[spriteCount] = width;
+        spriteHeight[spriteCount] = height;
+        return spriteCount++;
+    }
+
+    public static int premultiply(int argb) {
+        int alpha = argb >>> 24;
+        int red = (argb >> 16 & 0xFF) * alpha / 255;
+        int green = (argb >> 8 & 0xFF) * alpha / 255;
+        int blue = (argb & 0xFF) * alpha / 255;
+        return alpha << 24 | red << 16 | green << 8 | blue;
+    }
+
+    // particles between their previous and current tick, nothing is drawn when there are none
+    public void draw(Graphics g, Particles particles, double interpolation) {
+        if(dirtyBottom > dirtyTop)
+            Arrays.fill(pixels, dirtyTop * width, dirtyBottom * width, 0);
+        dirtyTop = height;
+        dirtyBottom = 0;
+        if(particles.size() == 0)
+            return;
+        for(int i = 0; i < particles.size(); i++) {
+            int x = (int)(particles.prevX[i] + (particles.x[i] - particles.prevX[i]) * interpolation);
+            int y = (int)(particles.prevY[i] + (particles.y[i] - particles.prevY[i]) * interpolation);
+            blend(particles.sprite[i], x, y);
+        }
+        if(dirtyBottom > dirtyTop)
+            g.drawImage(layer, 0, 0, null);
+    }
+
+    // source over, overlapping particles get darker like they would drawn one by one
+    private void blend(int index, int x, int y) {
+        int[] sprite = sprites[index];
+        int w = spriteWidth[index];
+        int startX = Math.max(0, -x);
+        int endX = Math.min(w, width - x);
+        int startY = Math.max(0, -y);
+        int endY = Math.min(spriteHeight[index], height - y);
+        if(startX >= endX || startY >= endY)
+            return;
+        dirtyTop = Math.min(dirtyTop, y + startY);
+        dirtyBottom = Math.max(dirtyBottom, y + endY);
+        int[] keep = keeps[index];
+        int[] pixels = this.pixels;
+        for(int row = startY; row < endY; row++) {
+            int from = row * w;
+            int to = (y + row) * width + x;
+            for(int column = startX; column < endX; column++) {
+                int destination = pixels[to + column];
+                int k = keep[from + column];
+                int redBlue = (destination & 0xFF00FF) * k >>> 8 & 0xFF00FF;
+                int alphaGreen = (destination >>> 8 & 0xFF00FF) * k & 0xFF00FF00;
+                pixels[to + column] = sprite[from + column] + (alphaGreen | redBlue);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package util;
+
+import java.util.Arrays;
+
+// lots of small short lived things (rain drops, dust, bits flying off an impact) as parallel primitive arrays
+// dead particles are swapped out with the last one since draw order doesn't matter, their slot is the next emit,
+// so once the arrays are big enough a storm of thousands of drops makes no garbage at all
+// what a particle looks like is the index of a sprite in a ParticleRenderer
+public class Particles {
+
+    private static final int INITIAL_CAPACITY = 16;
+    // life of particles that stay until they are cleared
+    public static final int FOREVER = -1;
+
+    private int count = 0;
+    public double[] prevX = new double[INITIAL_CAPACITY];
+    public double[] x = new double[INITIAL_CAPACITY];
+    public double[] prevY = new double[INITIAL_CAPACITY];
+    public double[] y = new double[INITIAL_CAPACITY];
+    // pixels per tick
+    public double[] speedX = new double[INITIAL_CAPACITY];
+    public double[] speedY = new double[INITIAL_CAPACITY];
+    // ticks left, FOREVER never runs out
+    public int[] life = new int[INITIAL_CAPACITY];
+    public int[] sprite = new int[INITIAL_CAPACITY];
+
+    public int size() {
+        return count;
+    }
+
+    // index of the new particle, valid until the next update or kill
+    public int emit(double x, double y, double speedX, double speedY, int life, int sprite) {
+        if(count == this.x.length)
+            grow(count * 2);
+        prevX[count] = x;
+        this.x[count] = x;
+        prevY[count] = y;
+        this.y[count] = y;
+        this.speedX[count] = speedX;
+        this.speedY[count] = speedY;
+        this.life[count] = life;
+        this.sprite[count] = sprite;
+        return count++;
+    }
+
+    // one tick: everything moves by its speed plus shiftX (scrolling with the ground), falls by gravity and ages
+    public void update(double shiftX, double gravity) {
+        for(int i = 0; i < count; i++) {
+            if(life[i] != FOREVER && --life[i] <= 0) {
+                kill(i--);
+                continue;
+            }
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] += speedX[i] + shiftX;
+            y[i] += speedY[i];
+            speedY[i] += gravity;
+        }
+    }
+
+    // jumps somewhere else, no interpolation from where it was
+    public void moveTo(int index, double x, double y) {
+        prevX[index] = x;
+        this.x[index] = x;
+        prevY[index] = y;
+        this.y[index] = y;
+    }
+
+    // last particle takes the place of this one
+    public void kill(int index) {
+        int last = --count;
+        prevX[index] = prevX[last];
+        x[index] = x[last];
+        prevY[index] = prevY[last];
+        y[index] = y[last];
+        speedX[index] = speedX[last];
+        speedY[index] = speedY[last];
+        life[index] = life[last];
+        sprite[index] = sprite[last];
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    // what drawing needs, positions and sprites, into a snapshot's particles
+    public void copyTo(Particles to) {
+        if(to.x.length < count)
+            to.grow(count);
+        System.arraycopy(prevX, 0, to.prevX, 0, count);
+        System.arraycopy(x, 0, to.x, 0, count);
+        System.arraycopy(prevY, 0, to.prevY, 0, count);
+        System.arraycopy(y, 0, to.y, 0, count);
+        System.arraycopy(sprite, 0, to.sprite, 0, count);
+        to.count = count;
+    }
+
+    private void grow(int capacity) {
+        prevX = Arrays.copyOf(prevX, capacity);
+        x = Arrays.copyOf(x, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        y = Arrays.copyOf(y, capacity);
+        speedX = Arrays.copyOf(speedX, capacity);
+        speedY = Arrays.copyOf(speedY, capacity);
+        life = Arrays.copyOf(life, capacity);
+        sprite = Arrays.copyOf(sprite, capacity);
+    }
+
+}
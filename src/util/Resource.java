@@ -1,17 +1,225 @@
 package util;
 
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
+
+import simulation.CollisionMask;
+import simulation.Pickups;
+import simulation.Sprite;
+
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 public class Resource {
 
+    // sheet behind util.Atlas, plus images drawn outside of the simulation sprites that are not on it
+    public static final String ALL_SPRITES = "resources/all-sprites.png";
+    public static final String LAND = "resources/land.png";
+    public static final String INTRO_TEXT = "resources/intro-text.png";
+    public static final String GAME_OVER = "resources/game-over.png";
+    public static final String PAUSED = "resources/paused.png";
+    private static final String[] UI_IMAGES = { ALL_SPRITES, LAND, INTRO_TEXT, GAME_OVER, PAUSED };
+
+    public static final String JUMP_SOUND = "resources/jump.wav";
+    public static final String SCORE_UP_SOUND = "resources/scoreup.wav";
+    public static final String SHIELD_EQUIP_SOUND = "resources/BubbleEquip.wav";
+    public static final String SHIELD_POP_SOUND = "resources/BubblePop.wav";
+    public static final String GAME_OVER_SOUND = "resources/dead.wav";
+    public static final String RAIN_SOUND = "resources/Rain.wav";
+    private static final String[] SOUNDS = { JUMP_SOUND, SCORE_UP_SOUND, SHIELD_EQUIP_SOUND, SHIELD_POP_SOUND, GAME_OVER_SOUND, RAIN_SOUND };
+
+    // every image is decoded once and shared by the whole process, nobody may draw into them
+    private static final Map<String, BufferedImage> images = new ConcurrentHashMap<String, BufferedImage>();
+    private static final LongAdder imageHits = new LongAdder();
+    private static final LongAdder imageMisses = new LongAdder();
+    private static final LongAdder imageLoadNanos = new LongAdder();
+
+    // sound effects decoded to pcm once, the mixer converts them from here
+    private static final Map<String, Sound> sounds = new ConcurrentHashMap<String, Sound>();
+
+    private static class Sound {
+        private final AudioFormat format;
+        private final byte[] data;
+
+        private Sound(AudioFormat format, byte[] data) {
+            this.format = format;
+            this.data = data;
+        }
+    }
+
+    private static boolean masksLoaded = false;
+
+    // already decoded copies of the files, null until util.AssetLoader found an up to date one
+    private static volatile AssetPack pack;
+
+    // decodes everything the game draws or plays so spawns and screens never hit the disk later
+    // one task per file so util.AssetLoader can run them side by side
+    public static List<Runnable> preloadTasks() {
+        List<Runnable> tasks = new ArrayList<Runnable>();
+        // decodes the sheet and converts it
+        tasks.add(Atlas::get);
+        for(String path : getImagePaths())
+            tasks.add(() -> getImage(path));
+        for(String path : getSoundPaths())
+            tasks.add(() -> preloadSound(path));
+        return tasks;
+    }
+
+    // every image file the game uses, sprites on the atlas are drawn from its sheet but their own png
+    // is still needed for the collision masks
+    public static List<String> getImagePaths() {
+        List<String> paths = new ArrayList<String>();
+        for(Sprite sprite : Sprite.values())
+            paths.add(sprite.getPath());
+        for(String path : UI_IMAGES)
+            paths.add(path);
+        return paths;
+    }
+
+    public static List<String> getSoundPaths() {
+        List<String> paths = new ArrayList<String>();
+        for(String path : SOUNDS)
+            paths.add(path);
+        return paths;
+    }
+
+    // files it has are read from it instead of decoded, set before anything is loaded
+    public static void usePack(AssetPack assetPack) {
+        pack = assetPack;
+    }
+
+    public static BufferedImage getImage(Sprite sprite) {
+        return getImage(sprite.getPath());
+    }
+
     public static BufferedImage getImage(String path) {
+        BufferedImage image = images.get(path);
+        if(image != null) {
+            imageHits.increment();
+            return image;
+        }
+        imageMisses.increment();
+        long start = System.nanoTime();
+        // two threads missing at once still decode only once
+        image = images.computeIfAbsent(path, Resource::loadImage);
+        imageLoadNanos.add(System.nanoTime() - start);
+        return image;
+    }
+
+    // copy of the image at width x height in the screen's own pixel format, so drawing it is a plain accelerated blit
+    // smooth for downscaling photos like the shield, pixel art stays nearest neighbour
+    public static BufferedImage getScaledImage(String path, int width, int height, boolean smooth) {
+        String key = path + "@" + width + "x" + height;
+        BufferedImage image = images.get(key);
+        if(image != null) {
+            imageHits.increment();
+            return image;
+        }
+        BufferedImage source = getImage(path);
+        long start = System.nanoTime();
+        image = images.computeIfAbsent(key, k -> toCompatible(source, 0, 0, source.getWidth(), source.getHeight(), width, height, smooth));
+        imageLoadNanos.add(System.nanoTime() - start);
+        return image;
+    }
+
+    public static BufferedImage getScaledImage(Sprite sprite, int width, int height, boolean smooth) {
+        return getScaledImage(sprite.getPath(), width, height, smooth);
+    }
+
+    // part of source (sx, sy, sw, sh) drawn into a new compatible image of width x height
+    public static BufferedImage toCompatible(BufferedImage source, int sx, int sy, int sw, int sh, int width, int height, boolean smooth) {
+        BufferedImage image = createCompatibleImage(width, height);
+        Graphics2D g = image.createGraphics();
+        if(smooth) {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        }
+        g.drawImage(source, 0, 0, width, height, sx, sy, sx + sw, sy + sh, null);
+        g.dispose();
+        return image;
+    }
+
+    // empty translucent image the screen can take without converting
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        // no screen, e.g. benchmarks, plain argb is what offscreen drawing likes best
+        if(GraphicsEnvironment.isHeadless())
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        return config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    // solid pixels of every sprite for pixel exact collisions, taken from each sprite's own png and not from
+    // converted copies, so the game and headless runs get the exact same masks and recordings replay the same
+    // all or nothing, a sprite left on its box would play differently (e.g. run from outside the project folder)
+    public static synchronized void loadCollisionMasks() {
+        if(masksLoaded)
+            return;
+        Sprite[] sprites = Sprite.values();
+        CollisionMask[] masks = new CollisionMask[sprites.length];
+        for(Sprite sprite : sprites) {
+            BufferedImage image = getImage(sprite);
+            if(image == null)
+                throw new IllegalStateException("No collision mask for: " + sprite.getPath());
+            // shield is drawn at a quarter of its size
+            int shrink = sprite == Sprite.SHIELD ? sprite.getWidth() / Pickups.SHIELD_WIDTH : 1;
+            int width = image.getWidth();
+            int height = image.getHeight();
+            masks[sprite.ordinal()] = CollisionMask.fromArgb(image.getRGB(0, 0, width, height, null, 0, width), width, height, shrink);
+        }
+        for(Sprite sprite : sprites)
+            sprite.setMask(masks[sprite.ordinal()]);
+        masksLoaded = true;
+    }
+
+    public static long getImageHits() {
+        return imageHits.sum();
+    }
+
+    public static long getImageMisses() {
+        return imageMisses.sum();
+    }
+
+    public static long getImageLoadNanos() {
+        return imageLoadNanos.sum();
+    }
+
+    private static BufferedImage loadImage(String path) {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        AssetPack assetPack = pack;
+        BufferedImage image = assetPack != null ? assetPack.getImage(path) : null;
+        boolean packed = image != null;
+        if(!packed)
+            image = decodeImage(path);
+        if(event.shouldCommit()) {
+            event.path = path;
+            event.type = "image";
+            event.loaded = image != null;
+            event.packed = packed;
+            event.commit();
+        }
+        return image;
+    }
+
+    private static BufferedImage decodeImage(String path) {
         BufferedImage image = null;
         try {
             // Try loading from JAR first
@@ -33,29 +241,88 @@ public class Resource {
         return image;
     }
 
-    public static Clip getSound(String path) {
-        Clip clip = null;
-        try {
-            clip = AudioSystem.getClip();
+    public static void preloadSound(String path) {
+        sounds.computeIfAbsent(path, Resource::loadSound);
+    }
+
+    // decoded samples converted to format once, interleaved channels, for mixing in manager.AudioEngine
+    // format has to be 16 bit signed little endian, null when the file is missing or can't be converted
+    public static short[] getSamples(String path, AudioFormat format) {
+        Sound sound = sounds.computeIfAbsent(path, Resource::loadSound);
+        if(sound == null)
+            return null;
+        byte[] data = sound.data;
+        if(!sound.format.matches(format)) {
+            try(AudioInputStream source = new AudioInputStream(new ByteArrayInputStream(sound.data), sound.format,
+                    sound.data.length / sound.format.getFrameSize())) {
+                data = AudioSystem.getAudioInputStream(format, source).readAllBytes();
+            } catch (Exception e) {
+                System.err.println("Failed to convert sound: " + path);
+                e.printStackTrace();
+                return null;
+            }
+        }
+        short[] samples = new short[data.length / 2];
+        ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(samples);
+        return samples;
+    }
+
+    // decoded pcm of a sound loaded earlier, for writing the asset pack
+    static AudioFormat getSoundFormat(String path) {
+        Sound sound = sounds.get(path);
+        return sound == null ? null : sound.format;
+    }
+
+    static byte[] getSoundData(String path) {
+        Sound sound = sounds.get(path);
+        return sound == null ? null : sound.data;
+    }
+
+    private static Sound loadSound(String path) {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        AssetPack assetPack = pack;
+        Sound sound = null;
+        if(assetPack != null && assetPack.getSoundFormat(path) != null)
+            sound = new Sound(assetPack.getSoundFormat(path), assetPack.getSoundData(path));
+        boolean packed = sound != null;
+        if(!packed)
+            sound = decodeSound(path);
+        if(event.shouldCommit()) {
+            event.path = path;
+            event.type = "sound";
+            event.loaded = sound != null;
+            event.packed = packed;
+            event.commit();
+        }
+        return sound;
+    }
 
+    private static Sound decodeSound(String path) {
+        Sound sound = null;
+        try {
+            AudioInputStream audioStream = null;
             // Try loading from JAR first
             InputStream stream = Resource.class.getClassLoader().getResourceAsStream(path);
             if (stream != null) {
                 // Wrap in BufferedInputStream to support mark/reset
-                BufferedInputStream bufferedStream = new BufferedInputStream(stream);
-                clip.open(AudioSystem.getAudioInputStream(bufferedStream));
+                audioStream = AudioSystem.getAudioInputStream(new BufferedInputStream(stream));
             } else {
                 // Fallback to file system (for development)
                 File file = new File(path);
                 if (file.exists()) {
-                    clip.open(AudioSystem.getAudioInputStream(file));
+                    audioStream = AudioSystem.getAudioInputStream(file);
                 }
             }
+            if (audioStream != null) {
+                sound = new Sound(audioStream.getFormat(), audioStream.readAllBytes());
+                audioStream.close();
+            }
         } catch (Exception e) {
             System.err.println("Failed to load sound: " + path);
             e.printStackTrace();
         }
-        return clip;
+        return sound;
     }
 
     public static boolean isJar() {
@@ -0,0 +1,20 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// appending a new hi score to the score file, done on the game thread
+@Name("dino.ScoreWrite")
+@Label("Score Write")
+@Category({ "Dino", "IO" })
+public class ScoreWriteEvent extends Event {
+
+    @Label("Score")
+    public int score;
+
+    @Label("File")
+    public String file;
+
+}
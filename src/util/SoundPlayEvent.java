@@ -0,0 +1,17 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// a sound effect handed to the mixer, how long until it is heard is in the debug overlay
+@Name("dino.SoundPlay")
+@Label("Sound Play")
+@Category({ "Dino", "Audio" })
+public class SoundPlayEvent extends Event {
+
+    @Label("Path")
+    public String path;
+
+}
@@ -0,0 +1,40 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// a cactus group, bird or shield entering the screen
+@Name("dino.Spawn")
+@Label("Spawn")
+@Category({ "Dino", "Simulation" })
+public class SpawnEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(SpawnEvent.class);
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Count")
+    public int count;
+
+    @Label("Y")
+    public int y;
+
+    // spawning takes no time worth measuring, so the event is only made while a recording wants it
+    // and ticks make no garbage otherwise
+    public static void emit(String kind, int count, int y) {
+        if(!TYPE.isEnabled())
+            return;
+        SpawnEvent event = new SpawnEvent();
+        if(event.shouldCommit()) {
+            event.kind = kind;
+            event.count = count;
+            event.y = y;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// one game tick: input, simulation and scenery, shows up in a flight recording next to gc and safepoints
+@Name("dino.Tick")
+@Label("Tick")
+@Category({ "Dino", "Game Loop" })
+public class TickEvent extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Game State")
+    public String gameState;
+
+    @Label("Enemies")
+    @Description("Cactuses and birds alive after the tick")
+    public int enemies;
+
+}
@@ -0,0 +1,64 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// single producer single consumer ring of (event, System.nanoTime()) pairs, no locks and no garbage
+// producer only moves tail and consumer only moves head, lazySet is enough to publish the slot before the index
+public class TimestampedEventQueue {
+
+    private final int[] events;
+    private final long[] times;
+    private final int mask;
+    // next slot to read, consumer side
+    private final AtomicLong head = new AtomicLong();
+    // next slot to write, producer side
+    private final AtomicLong tail = new AtomicLong();
+    private long dropped = 0;
+
+    // capacity is rounded up to a power of two
+    public TimestampedEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        events = new int[size];
+        times = new long[size];
+        mask = size - 1;
+    }
+
+    // producer, false when the consumer fell a whole ring behind and the event was dropped
+    public boolean offer(int event, long time) {
+        long t = tail.get();
+        if(t - head.get() > mask) {
+            dropped++;
+            return false;
+        }
+        int slot = (int)t & mask;
+        events[slot] = event;
+        times[slot] = time;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // consumer, true when the oldest event happened at or before time
+    public boolean hasEventUntil(long time) {
+        long h = head.get();
+        return h != tail.get() && times[(int)h & mask] - time <= 0;
+    }
+
+    // consumer, oldest event, only valid after hasEventUntil returned true
+    public int peekEvent() {
+        return events[(int)head.get() & mask];
+    }
+
+    public long peekTime() {
+        return times[(int)head.get() & mask];
+    }
+
+    // consumer, drops the oldest event
+    public void advance() {
+        head.lazySet(head.get() + 1);
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+}
@@ -0,0 +1,45 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// hands the newest of a stream of objects from one writer thread to one reader thread without locks or garbage
+// writer fills its back buffer and swaps it into the middle, reader swaps the middle out whenever it was refreshed,
+// so neither side ever touches a buffer the other one is using
+public class TripleBuffer<T> {
+
+    private static final int INDEX = 0b011;
+    // set on the middle index when the writer published something the reader hasn't taken yet
+    private static final int FRESH = 0b100;
+
+    private final Object[] buffers = new Object[3];
+    // writer's buffer
+    private int back = 0;
+    // reader's buffer
+    private int front = 1;
+    private final AtomicInteger middle = new AtomicInteger(2);
+
+    public TripleBuffer(Supplier<T> factory) {
+        for(int i = 0; i < buffers.length; i++)
+            buffers[i] = factory.get();
+    }
+
+    // buffer the writer may fill, its old contents are whatever was written two publishes ago
+    @SuppressWarnings("unchecked")
+    public T writable() {
+        return (T)buffers[back];
+    }
+
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    // newest published buffer, stays valid until the next call
+    @SuppressWarnings("unchecked")
+    public T latest() {
+        if((middle.get() & FRESH) != 0)
+            front = middle.getAndSet(front) & INDEX;
+        return (T)buffers[front];
+    }
+
+}